@@ -0,0 +1,59 @@
+package com.javaguides.springboot.benchmark;
+
+import com.javaguides.springboot.service.EmployeeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// GET /api/employees/{id} with every lookup missing the cache, with and without the batch loader.
+// prints the repository round trips per request next to throughput and p99:
+// ./mvnw -Pbenchmark test-compile exec:exec@load-test -Dload.test=com.javaguides.springboot.benchmark.BatchLoaderLoadTest
+public class BatchLoaderLoadTest {
+
+    private static final int EMPLOYEES = 10_000;
+
+    public static void main(String[] args) throws Exception {
+        List<HttpLoadGenerator.Result> results = new ArrayList<>();
+        List<String> roundTrips = new ArrayList<>();
+        for (boolean batched : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext context = BenchmarkApplication.startWeb(
+                    "--spring.cache.type=none",
+                    "--employee.batch-loader.enabled=" + batched)) {
+                long[] ids = BenchmarkApplication.seed(context.getBean(EmployeeService.class), EMPLOYEES);
+                String baseUrl = BenchmarkApplication.baseUrl(context);
+                MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+                String name = (batched ? "batched" : "direct") + " GET /api/employees/{id}";
+
+                HttpLoadGenerator.measure(name, HttpLoadGenerator.concurrency(), HttpLoadGenerator.duration(),
+                        () -> get(baseUrl + "/" + ids[ThreadLocalRandom.current().nextInt(ids.length)]));
+                long before = lookups(meterRegistry);
+                HttpLoadGenerator.Result result = HttpLoadGenerator.measure(name,
+                        HttpLoadGenerator.concurrency(), HttpLoadGenerator.duration(),
+                        () -> get(baseUrl + "/" + ids[ThreadLocalRandom.current().nextInt(ids.length)]));
+                results.add(result);
+                roundTrips.add(String.format("%-45s %.3f queries/request", name,
+                        (lookups(meterRegistry) - before) / (double) result.requests()));
+            }
+        }
+        HttpLoadGenerator.print(results);
+        roundTrips.forEach(System.out::println);
+    }
+
+    // findById and findAllById calls, timed by EmployeeMetricsAspect
+    private static long lookups(MeterRegistry meterRegistry) {
+        return meterRegistry.find("employee.repository").tag("method", "findById").timers().stream()
+                .mapToLong(Timer::count).sum()
+                + meterRegistry.find("employee.repository").tag("method", "findAllById").timers().stream()
+                .mapToLong(Timer::count).sum();
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET().build();
+    }
+}
@@ -0,0 +1,81 @@
+package com.javaguides.springboot.benchmark;
+
+import com.javaguides.springboot.SpringBootTestingApplication;
+import com.javaguides.springboot.model.Employee;
+import com.javaguides.springboot.service.EmployeeService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// boots the application against an in-memory H2 database for benchmarks and load tests
+public final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    // extra arguments use the command line form (--key=value) and override the defaults below
+    public static ConfigurableApplicationContext start(String... args) {
+        String database = "benchmark-" + System.nanoTime();
+        String[] defaults = {
+                "--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                // only used by the reactive profile, the same in-memory database through R2DBC
+                "--spring.r2dbc.url=r2dbc:h2:mem:///" + database + ";DB_CLOSE_DELAY=-1",
+                "--spring.r2dbc.username=sa",
+                "--spring.r2dbc.password=",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.show-sql=false",
+                "--spring.main.web-application-type=none",
+                "--spring.main.banner-mode=off",
+                // every load test client shares one address, admission control is measured on its own
+                "--employee.rate-limit.enabled=false",
+                "--logging.level.root=WARN"
+        };
+        // repeated command line options are joined by spring, so merge by key and let the last one win
+        Map<String, String> options = new LinkedHashMap<>();
+        Stream.concat(Stream.of(defaults), Stream.of(args))
+                .forEach(arg -> options.put(arg.substring(0, arg.indexOf('=') + 1), arg));
+        return new SpringApplicationBuilder(SpringBootTestingApplication.class)
+                .run(options.values().toArray(String[]::new));
+    }
+
+    // servlet context on a random port, for the HTTP load tests
+    public static ConfigurableApplicationContext startWeb(String... args) {
+        String[] web = {"--spring.main.web-application-type=servlet", "--server.port=0"};
+        return start(Stream.concat(Stream.of(web), Stream.of(args)).toArray(String[]::new));
+    }
+
+    // WebFlux on Netty with the reactive profile, on a random port
+    public static ConfigurableApplicationContext startReactive(String... args) {
+        String[] reactive = {"--spring.profiles.active=reactive", "--spring.main.web-application-type=reactive"};
+        return startWeb(Stream.concat(Stream.of(reactive), Stream.of(args)).toArray(String[]::new));
+    }
+
+    public static String baseUrl(ConfigurableApplicationContext context) {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/employees";
+    }
+
+    // inserts count employees through the batch path and returns their ids
+    public static long[] seed(EmployeeService employeeService, int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(employee(i));
+        }
+        employeeService.saveEmployees(employees);
+        return employees.stream().mapToLong(Employee::getId).toArray();
+    }
+
+    public static Employee employee(long n) {
+        return Employee.builder()
+                .firstName("First" + n)
+                .lastName("Last" + n)
+                .email("employee" + n + "@example.com")
+                .build();
+    }
+}
@@ -0,0 +1,103 @@
+package com.javaguides.springboot.benchmark;
+
+import com.javaguides.springboot.service.EmployeeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// the EmployeeController endpoints on the default datasource settings versus the 'prod' profile, with the
+// read-through cache off so that every request takes a connection. next to throughput and latency it reports the
+// time requests waited for a connection (hikaricp.connections.acquire) and the pool timeouts of the measured run.
+// on the in-memory H2 default only pool sizing, timeouts and open-in-view make a difference, the Connector/J
+// caches and batch rewriting need MySQL: -Ddatasource.url=jdbc:mysql://localhost:3306/scratch?useSSL=false&useCursorFetch=true
+// (plus -Ddatasource.username/-Ddatasource.password), whose tables are recreated:
+// ./mvnw -Pbenchmark test-compile exec:exec@load-test -Dload.test=com.javaguides.springboot.benchmark.DataSourceLoadTest
+public class DataSourceLoadTest {
+
+    private static final int EMPLOYEES = 10_000;
+    private static final int BATCH = 100;
+
+    public static void main(String[] args) throws Exception {
+        List<HttpLoadGenerator.Result> results = new ArrayList<>();
+        List<String> poolStats = new ArrayList<>();
+        for (String mode : new String[]{"default", "prod"}) {
+            String url = System.getProperty("datasource.url",
+                    "jdbc:h2:mem:datasource-" + mode + ";DB_CLOSE_DELAY=-1;IGNORE_UNKNOWN_SETTINGS=TRUE");
+            try (ConfigurableApplicationContext context = BenchmarkApplication.startWeb(
+                    "--spring.profiles.active=" + mode,
+                    "--spring.cache.type=none",
+                    "--spring.datasource.url=" + url,
+                    "--spring.datasource.username=" + System.getProperty("datasource.username", "sa"),
+                    "--spring.datasource.password=" + System.getProperty("datasource.password", ""))) {
+                long[] ids = BenchmarkApplication.seed(context.getBean(EmployeeService.class), EMPLOYEES);
+                String baseUrl = BenchmarkApplication.baseUrl(context);
+                MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+                AtomicLong created = new AtomicLong(EMPLOYEES);
+
+                results.add(run(mode + " GET /api/employees/{id}", meterRegistry, poolStats,
+                        () -> get(baseUrl + "/" + ids[ThreadLocalRandom.current().nextInt(ids.length)])));
+                results.add(run(mode + " GET /api/employees?size=50", meterRegistry, poolStats,
+                        () -> get(baseUrl + "?size=50&cursor=" + ids[ThreadLocalRandom.current().nextInt(ids.length)])));
+                results.add(run(mode + " POST /api/employees", meterRegistry, poolStats,
+                        () -> post(baseUrl, employee(created.incrementAndGet()))));
+                results.add(run(mode + " POST /api/employees/batch (" + BATCH + ")", meterRegistry, poolStats,
+                        () -> post(baseUrl + "/batch", batch(created))));
+            }
+        }
+        HttpLoadGenerator.print(results);
+        System.out.println();
+        poolStats.forEach(System.out::println);
+    }
+
+    // warmup, then the measured run with the pool's acquire timer and timeout counter read before and after it
+    private static HttpLoadGenerator.Result run(String name, MeterRegistry meterRegistry, List<String> poolStats,
+                                                Supplier<HttpRequest> requests) throws Exception {
+        HttpLoadGenerator.measure(name, HttpLoadGenerator.concurrency(), HttpLoadGenerator.duration(), requests);
+        Timer acquire = meterRegistry.get("hikaricp.connections.acquire").timer();
+        long acquiresBefore = acquire.count();
+        double waitedBefore = acquire.totalTime(TimeUnit.MILLISECONDS);
+        double timeoutsBefore = meterRegistry.get("hikaricp.connections.timeout").counter().count();
+
+        HttpLoadGenerator.Result result = HttpLoadGenerator.measure(name, HttpLoadGenerator.concurrency(),
+                HttpLoadGenerator.duration(), requests);
+
+        long acquires = acquire.count() - acquiresBefore;
+        double waited = acquire.totalTime(TimeUnit.MILLISECONDS) - waitedBefore;
+        poolStats.add(String.format("%-45s %9d acquires   mean wait %8.3f ms   max wait %8.2f ms   %4.0f timeouts",
+                name, acquires, acquires == 0 ? 0 : waited / acquires, acquire.max(TimeUnit.MILLISECONDS),
+                meterRegistry.get("hikaricp.connections.timeout").counter().count() - timeoutsBefore));
+        return result;
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET().build();
+    }
+
+    private static HttpRequest post(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static String employee(long n) {
+        return "{\"firstName\":\"First" + n + "\",\"lastName\":\"Last" + n + "\",\"email\":\"employee" + n + "@example.com\"}";
+    }
+
+    private static String batch(AtomicLong created) {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < BATCH; i++) {
+            body.append(i == 0 ? "" : ",").append(employee(created.incrementAndGet()));
+        }
+        return body.append(']').toString();
+    }
+}
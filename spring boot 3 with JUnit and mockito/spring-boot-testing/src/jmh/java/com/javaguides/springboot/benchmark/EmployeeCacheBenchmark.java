@@ -0,0 +1,69 @@
+package com.javaguides.springboot.benchmark;
+
+import com.javaguides.springboot.model.Employee;
+import com.javaguides.springboot.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// getEmployeeById / getEmployeeByEmail with the caffeine cache versus the no-op cache
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeCacheBenchmark {
+
+    @Param({"caffeine", "none"})
+    private String cacheType;
+
+    @Param({"10000"})
+    private int employees;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start("--spring.cache.type=" + cacheType);
+        employeeService = context.getBean(EmployeeService.class);
+        ids = BenchmarkApplication.seed(employeeService, employees);
+        // measure the steady state, not the cold cache
+        for (int n = 0; n < employees; n++) {
+            employeeService.getEmployeeByEmail("employee" + n + "@example.com");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Employee> getEmployeeById() {
+        return employeeService.getEmployeeById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public Optional<Employee> getEmployeeByEmail() {
+        int n = ThreadLocalRandom.current().nextInt(employees);
+        return employeeService.getEmployeeByEmail("employee" + n + "@example.com");
+    }
+}
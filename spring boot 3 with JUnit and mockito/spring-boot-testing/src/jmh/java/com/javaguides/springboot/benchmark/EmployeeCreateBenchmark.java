@@ -0,0 +1,67 @@
+package com.javaguides.springboot.benchmark;
+
+import com.javaguides.springboot.exception.ResourceNotFundException;
+import com.javaguides.springboot.model.Employee;
+import com.javaguides.springboot.repository.EmployeeRepository;
+import com.javaguides.springboot.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// create throughput: the old findByEmail + save round trips versus the single insert guarded by the unique index
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class EmployeeCreateBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private EmployeeRepository employeeRepository;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start();
+        employeeService = context.getBean(EmployeeService.class);
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        BenchmarkApplication.seed(employeeService, 10_000);
+        sequence.set(10_000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Employee checkThenInsert() {
+        Employee employee = BenchmarkApplication.employee(sequence.incrementAndGet());
+        if (employeeRepository.findByEmail(employee.getEmail()).isPresent()) {
+            throw new ResourceNotFundException("Employee already exist with given email: " + employee.getEmail());
+        }
+        return employeeRepository.save(employee);
+    }
+
+    @Benchmark
+    public Employee insertWithUniqueIndex() {
+        return employeeService.saveEmployee(BenchmarkApplication.employee(sequence.incrementAndGet()));
+    }
+}
@@ -0,0 +1,119 @@
+package com.javaguides.springboot.benchmark;
+
+import com.javaguides.springboot.dto.ImportReport;
+import com.javaguides.springboot.service.EmployeeFileFormat;
+import com.javaguides.springboot.service.EmployeeImportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// bulk import throughput against H2, the score is rows/s. the input is generated while it is read so the
+// heap only ever holds one chunk, add -prof gc to see allocation per row:
+// ./mvnw -Pbenchmark test-compile exec:exec -Djmh.includes=EmployeeImportBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx256m")
+public class EmployeeImportBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    @Param({"CSV", "NDJSON"})
+    private EmployeeFileFormat format;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeImportService employeeImportService;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start();
+        employeeImportService = context.getBean(EmployeeImportService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public ImportReport importRows() {
+        ImportReport report = employeeImportService.importEmployees(new GeneratedInput(format, sequence, ROWS), format);
+        sequence += ROWS;
+        if (report.getImported() != ROWS) {
+            throw new IllegalStateException("imported " + report.getImported() + " of " + ROWS);
+        }
+        return report;
+    }
+
+    // CSV or NDJSON rows with fresh emails, produced on demand
+    private static class GeneratedInput extends InputStream {
+
+        private final EmployeeFileFormat format;
+        private final long end;
+        private long next;
+        private byte[] line;
+        private int position;
+
+        GeneratedInput(EmployeeFileFormat format, long first, int rows) {
+            this.format = format;
+            this.next = first;
+            this.end = first + rows;
+            this.line = format == EmployeeFileFormat.CSV ? bytes("firstName,lastName,email\n") : new byte[0];
+        }
+
+        @Override
+        public int read() {
+            if (position == line.length && !advance()) {
+                return -1;
+            }
+            return line[position++];
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (position == line.length && !advance()) {
+                return -1;
+            }
+            int count = Math.min(length, line.length - position);
+            System.arraycopy(line, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+
+        private boolean advance() {
+            if (next == end) {
+                return false;
+            }
+            long n = next++;
+            line = bytes(format == EmployeeFileFormat.CSV
+                    ? "First" + n + ",Last" + n + ",employee" + n + "@example.com\n"
+                    : "{\"firstName\":\"First" + n + "\",\"lastName\":\"Last" + n + "\",\"email\":\"employee" + n + "@example.com\"}\n");
+            position = 0;
+            return true;
+        }
+
+        private static byte[] bytes(String value) {
+            return value.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+}
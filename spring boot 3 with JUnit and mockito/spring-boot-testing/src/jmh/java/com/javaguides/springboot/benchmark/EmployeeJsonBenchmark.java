@@ -0,0 +1,97 @@
+package com.javaguides.springboot.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.javaguides.springboot.json.EmployeeJsonSerializer;
+import com.javaguides.springboot.model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Jackson round trip of Employee with the same ObjectMapper defaults Spring Boot uses. mapper=default is the plain
+// bean serializer, optimized adds what JsonConfig configures (EmployeeJsonSerializer, Blackbird, shared buffer
+// pool) and smile writes the same through the binary Smile format:
+// ./mvnw -Pbenchmark test-compile exec:exec -Djmh.includes="EmployeeJsonBenchmark -prof gc"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeJsonBenchmark {
+
+    private static final TypeReference<List<Employee>> EMPLOYEE_LIST = new TypeReference<>() {
+    };
+
+    @Param({"default", "optimized", "smile"})
+    private String mapper;
+
+    private ObjectMapper objectMapper;
+    private Employee employee;
+    private List<Employee> employees;
+    private byte[] employeeJson;
+    private byte[] employeesJson;
+
+    @Setup
+    public void setup() throws Exception {
+        objectMapper = switch (mapper) {
+            case "default" -> Jackson2ObjectMapperBuilder.json().build();
+            case "optimized" -> optimized(Jackson2ObjectMapperBuilder.json());
+            case "smile" -> optimized(Jackson2ObjectMapperBuilder.smile().factory(new SmileFactory()));
+            default -> throw new IllegalArgumentException(mapper);
+        };
+        employee = BenchmarkApplication.employee(1);
+        employee.setId(1L);
+        employees = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Employee e = BenchmarkApplication.employee(i);
+            e.setId(i);
+            employees.add(e);
+        }
+        employeeJson = objectMapper.writeValueAsBytes(employee);
+        employeesJson = objectMapper.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public byte[] serializeEmployee() throws Exception {
+        return objectMapper.writeValueAsBytes(employee);
+    }
+
+    @Benchmark
+    public Employee deserializeEmployee() throws Exception {
+        return objectMapper.readValue(employeeJson, Employee.class);
+    }
+
+    @Benchmark
+    public byte[] serializeEmployeeList() throws Exception {
+        return objectMapper.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public List<Employee> deserializeEmployeeList() throws Exception {
+        return objectMapper.readValue(employeesJson, EMPLOYEE_LIST);
+    }
+
+    private static ObjectMapper optimized(Jackson2ObjectMapperBuilder builder) {
+        return builder.modulesToInstall(new BlackbirdModule(), new SimpleModule().addSerializer(new EmployeeJsonSerializer()))
+                .postConfigurer(objectMapper -> objectMapper.getFactory().setRecyclerPool(JsonRecyclerPools.sharedConcurrentDequePool()))
+                .build();
+    }
+}
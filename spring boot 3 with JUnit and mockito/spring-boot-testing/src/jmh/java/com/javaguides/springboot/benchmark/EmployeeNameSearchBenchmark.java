@@ -0,0 +1,105 @@
+package com.javaguides.springboot.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// first/last name lookups on a large H2 table, full scan versus the (last_name, first_name) index
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class EmployeeNameSearchBenchmark {
+
+    private static final String EXACT_SQL = "SELECT * FROM employees e WHERE e.first_name = ? AND e.last_name = ?";
+    private static final String PREFIX_SQL = "SELECT e.id, e.first_name, e.last_name, e.email FROM employees e "
+            + "WHERE e.last_name LIKE ? ORDER BY e.last_name, e.first_name, e.id LIMIT 20";
+
+    @Param({"false", "true"})
+    private boolean indexed;
+
+    @Param({"500000"})
+    private int employees;
+
+    private Connection connection;
+    private PreparedStatement exact;
+    private PreparedStatement prefix;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        connection = DriverManager.getConnection("jdbc:h2:mem:names-" + System.nanoTime(), "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE employees (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                    + "first_name VARCHAR(255) NOT NULL, last_name VARCHAR(255) NOT NULL, email VARCHAR(255) NOT NULL)");
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO employees (first_name, last_name, email) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < employees; i++) {
+                insert.setString(1, "First" + i);
+                insert.setString(2, "Last" + i);
+                insert.setString(3, "employee" + i + "@example.com");
+                insert.addBatch();
+                if (i % 1000 == 999) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        if (indexed) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE INDEX idx_employees_last_first ON employees (last_name, first_name)");
+            }
+        }
+        exact = connection.prepareStatement(EXACT_SQL);
+        prefix = connection.prepareStatement(PREFIX_SQL);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        connection.close();
+    }
+
+    @Benchmark
+    public int exactName() throws Exception {
+        int n = ThreadLocalRandom.current().nextInt(employees);
+        exact.setString(1, "First" + n);
+        exact.setString(2, "Last" + n);
+        return count(exact);
+    }
+
+    @Benchmark
+    public int lastNamePrefix() throws Exception {
+        prefix.setString(1, "Last" + ThreadLocalRandom.current().nextInt(employees) + "%");
+        return count(prefix);
+    }
+
+    private static int count(PreparedStatement statement) throws Exception {
+        int rows = 0;
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,100 @@
+package com.javaguides.springboot.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.javaguides.springboot.repository.EmployeeRepository;
+import com.javaguides.springboot.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// what the GET endpoints do below the controller, one transaction for the query and the JSON written after it:
+// path=entity loads managed entities in a read-write transaction (snapshots for dirty checking, flush at commit),
+// read-only-entity the same in a read-only one and projection selects EmployeeView records. the service caches are
+// off, so every call reaches H2. -prof gc adds the allocated bytes per call (gc.alloc.rate.norm):
+// ./mvnw -Pbenchmark test-compile exec:exec -Djmh.includes="EmployeeReadModelBenchmark -prof gc"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class EmployeeReadModelBenchmark {
+
+    private static final int EMPLOYEES = 1000;
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"entity", "read-only-entity", "projection"})
+    private String path;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeRepository employeeRepository;
+    private ObjectMapper objectMapper;
+    private TransactionTemplate transactionTemplate;
+    private boolean projection;
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start("--spring.cache.type=none");
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(!path.equals("entity"));
+        projection = path.equals("projection");
+        ids = BenchmarkApplication.seed(context.getBean(EmployeeService.class), EMPLOYEES);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // GET /api/employees/{id}
+    @Benchmark
+    public byte[] getEmployeeById() throws Exception {
+        long id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        return read(projection
+                ? () -> employeeRepository.findViewById(id).orElseThrow()
+                : () -> employeeRepository.findById(id).orElseThrow());
+    }
+
+    // GET /api/employees?size=50&cursor=..
+    @Benchmark
+    public byte[] getEmployeesPage() throws Exception {
+        long cursor = ids[ThreadLocalRandom.current().nextInt(ids.length - PAGE_SIZE)];
+        PageRequest page = PageRequest.of(0, PAGE_SIZE);
+        return read(projection
+                ? () -> employeeRepository.findViewsByIdGreaterThan(cursor, page)
+                : () -> employeeRepository.findByIdGreaterThanOrderByIdAsc(cursor, page));
+    }
+
+    // GET /api/employees
+    @Benchmark
+    public byte[] getAllEmployees() throws Exception {
+        return read(projection
+                ? employeeRepository::findAllViews
+                : employeeRepository::findAll);
+    }
+
+    private byte[] read(Supplier<?> query) throws Exception {
+        return objectMapper.writeValueAsBytes(transactionTemplate.execute(status -> query.get()));
+    }
+}
@@ -0,0 +1,76 @@
+package com.javaguides.springboot.benchmark;
+
+import com.javaguides.springboot.dto.EmployeeSummary;
+import com.javaguides.springboot.search.TrigramIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// latency of the full-text search index with 1M employees, top 20. names are random syllable strings so that
+// grams are spread like in real data: a one letter prefix ("k"), a two letter prefix ("ra"), a term inside tokens
+// ("ris"), two terms ("kari rah") and a term without matches. the index is filled directly, the build time of
+// the table scan at startup is logged by EmployeeSearchIndex:
+// ./mvnw -Pbenchmark test-compile exec:exec -Djmh.includes="EmployeeSearchBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class EmployeeSearchBenchmark {
+
+    private static final String[] SYLLABLES = {"ka", "ri", "sha", "rah", "man", "mo", "ham", "sul", "tan", "ja", "mil",
+            "far", "hana", "zo", "bel", "ta", "na", "li", "sa", "dor", "ven", "el", "ar", "is", "ko", "lu", "pe", "qui",
+            "ro", "tes", "ul", "va", "wen", "yo", "de", "gi", "ba", "ne", "sto", "fi"};
+    private static final String[] DOMAINS = {"gmail.com", "example.com", "company.org", "mail.net", "corp.io"};
+
+    @Param({"1000000"})
+    private int employees;
+
+    @Param({"k", "ra", "ris", "kari rah", "xyzzy"})
+    private String query;
+
+    private TrigramIndex index;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        index = new TrigramIndex();
+        for (int i = 1; i <= employees; i++) {
+            String firstName = capitalize(name(random));
+            String lastName = capitalize(name(random));
+            String email = firstName.toLowerCase() + "." + lastName.toLowerCase() + i + "@" + DOMAINS[random.nextInt(DOMAINS.length)];
+            index.put(i, firstName, lastName, email);
+        }
+    }
+
+    @Benchmark
+    public List<EmployeeSummary> search() {
+        return index.search(query, 20);
+    }
+
+    private static String name(Random random) {
+        StringBuilder name = new StringBuilder();
+        int syllables = 2 + random.nextInt(2);
+        for (int i = 0; i < syllables; i++) {
+            name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return name.toString();
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+}
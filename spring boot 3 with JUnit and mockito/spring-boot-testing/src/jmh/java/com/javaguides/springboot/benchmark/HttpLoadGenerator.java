@@ -0,0 +1,108 @@
+package com.javaguides.springboot.benchmark;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+// closed-loop HTTP load: `concurrency` clients each send the next request as soon as the previous one returns
+public final class HttpLoadGenerator {
+
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private HttpLoadGenerator() {
+    }
+
+    public record Result(String name, long requests, long errors, double throughput, double p50Millis, double p99Millis) {
+
+        @Override
+        public String toString() {
+            return String.format("%-45s %9d req %6d err %10.1f req/s   p50 %8.2f ms   p99 %8.2f ms",
+                    name, requests, errors, throughput, p50Millis, p99Millis);
+        }
+    }
+
+    // runs a warmup of the same length first and only reports the measured run
+    public static Result run(String name, int concurrency, Duration duration, Supplier<HttpRequest> requests) throws Exception {
+        measure(name, concurrency, duration, requests);
+        return measure(name, concurrency, duration, requests);
+    }
+
+    // number of concurrent clients, from -Dconcurrency
+    public static int concurrency() {
+        return Integer.getInteger("concurrency", 200);
+    }
+
+    // length of each warmup and measured run, from -Dduration (seconds)
+    public static Duration duration() {
+        return Duration.ofSeconds(Long.getLong("duration", 15));
+    }
+
+    public static void print(List<Result> results) {
+        System.out.println();
+        results.forEach(System.out::println);
+    }
+
+    // a single run without warmup, for callers that sample other counters around the measured run
+    public static Result measure(String name, int concurrency, Duration duration, Supplier<HttpRequest> requests) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        List<Future<long[]>> futures = new ArrayList<>();
+        long[] errors = new long[concurrency];
+        for (int c = 0; c < concurrency; c++) {
+            int client = c;
+            futures.add(clients.submit(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = CLIENT.send(requests.get(), HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors[client]++;
+                        }
+                    } catch (Exception e) {
+                        errors[client]++;
+                    }
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = System.nanoTime() - start;
+                }
+                return Arrays.copyOf(latencies, count);
+            }));
+        }
+
+        long[] all = new long[0];
+        for (Future<long[]> future : futures) {
+            long[] latencies = future.get();
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + latencies.length);
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+        }
+        clients.shutdown();
+
+        Arrays.sort(all);
+        long totalErrors = Arrays.stream(errors).sum();
+        return new Result(name, all.length, totalErrors, all.length / (double) duration.toSeconds(),
+                percentile(all, 0.50), percentile(all, 0.99));
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+}
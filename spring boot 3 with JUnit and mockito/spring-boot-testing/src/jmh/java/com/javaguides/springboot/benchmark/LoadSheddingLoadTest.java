@@ -0,0 +1,44 @@
+package com.javaguides.springboot.benchmark;
+
+import com.javaguides.springboot.service.EmployeeService;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// overload behaviour with and without the adaptive concurrency limit: a small connection pool and more clients
+// than it can serve. with the limit the excess is answered 503 (counted as errors) and admitted requests keep
+// their latency, without it every request queues for a connection:
+// ./mvnw -Pbenchmark test-compile exec:exec@load-test -Dload.test=com.javaguides.springboot.benchmark.LoadSheddingLoadTest
+public class LoadSheddingLoadTest {
+
+    private static final int EMPLOYEES = 10_000;
+
+    public static void main(String[] args) throws Exception {
+        List<HttpLoadGenerator.Result> results = new ArrayList<>();
+        for (boolean limited : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext context = BenchmarkApplication.startWeb(
+                    "--spring.datasource.hikari.maximum-pool-size=4",
+                    "--employee.rate-limit.enabled=" + limited,
+                    // token buckets out of the way, all clients share one address
+                    "--employee.rate-limit.read.capacity=1000000",
+                    "--employee.rate-limit.read.per-second=1000000",
+                    "--employee.rate-limit.concurrency.initial-limit=50",
+                    "--employee.rate-limit.concurrency.min-limit=8",
+                    "--employee.rate-limit.concurrency.db-latency-threshold=50ms",
+                    "--employee.rate-limit.concurrency.pool-wait-threshold=20ms",
+                    "--employee.rate-limit.concurrency.sample-interval-ms=200")) {
+                long[] ids = BenchmarkApplication.seed(context.getBean(EmployeeService.class), EMPLOYEES);
+                String baseUrl = BenchmarkApplication.baseUrl(context);
+                results.add(HttpLoadGenerator.run((limited ? "adaptive limit" : "unlimited") + " GET /api/employees?size=200",
+                        HttpLoadGenerator.concurrency(), HttpLoadGenerator.duration(),
+                        () -> HttpRequest.newBuilder(URI.create(baseUrl + "?size=200&cursor="
+                                + ids[ThreadLocalRandom.current().nextInt(ids.length)])).GET().build()));
+            }
+        }
+        HttpLoadGenerator.print(results);
+    }
+}
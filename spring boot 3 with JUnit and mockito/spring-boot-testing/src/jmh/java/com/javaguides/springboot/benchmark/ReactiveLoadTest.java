@@ -0,0 +1,58 @@
+package com.javaguides.springboot.benchmark;
+
+import com.javaguides.springboot.service.EmployeeService;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// throughput and p99 of the servlet/JPA employee API versus the WebFlux/R2DBC one of the 'reactive' profile at
+// high concurrency. both read from the database on every request (the servlet read-through cache is off) and
+// use a pool of 10 connections, GET /api/employees streams 1000 employees:
+// ./mvnw -Pbenchmark test-compile exec:exec@load-test -Dload.test=com.javaguides.springboot.benchmark.ReactiveLoadTest -Dload.jvm.args="-Dconcurrency=1000"
+public class ReactiveLoadTest {
+
+    private static final int EMPLOYEES = 1_000;
+
+    public static void main(String[] args) throws Exception {
+        List<HttpLoadGenerator.Result> results = new ArrayList<>();
+        for (String mode : new String[]{"servlet", "reactive"}) {
+            String[] options = {"--spring.cache.type=none", "--spring.datasource.hikari.maximum-pool-size=10",
+                    "--spring.r2dbc.pool.max-size=10"};
+            try (ConfigurableApplicationContext context = "reactive".equals(mode)
+                    ? BenchmarkApplication.startReactive(options)
+                    : BenchmarkApplication.startWeb(options)) {
+                long[] ids = BenchmarkApplication.seed(context.getBean(EmployeeService.class), EMPLOYEES);
+                String baseUrl = BenchmarkApplication.baseUrl(context);
+                AtomicLong created = new AtomicLong(EMPLOYEES);
+
+                results.add(HttpLoadGenerator.run(mode + " GET /api/employees/{id}",
+                        HttpLoadGenerator.concurrency(), HttpLoadGenerator.duration(),
+                        () -> get(baseUrl + "/" + ids[ThreadLocalRandom.current().nextInt(ids.length)])));
+                results.add(HttpLoadGenerator.run(mode + " GET /api/employees",
+                        HttpLoadGenerator.concurrency(), HttpLoadGenerator.duration(),
+                        () -> get(baseUrl)));
+                results.add(HttpLoadGenerator.run(mode + " POST /api/employees",
+                        HttpLoadGenerator.concurrency(), HttpLoadGenerator.duration(),
+                        () -> post(baseUrl, created.incrementAndGet())));
+            }
+        }
+        HttpLoadGenerator.print(results);
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET().build();
+    }
+
+    private static HttpRequest post(String url, long n) {
+        String body = "{\"firstName\":\"First" + n + "\",\"lastName\":\"Last" + n + "\",\"email\":\"employee" + n + "@example.com\"}";
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
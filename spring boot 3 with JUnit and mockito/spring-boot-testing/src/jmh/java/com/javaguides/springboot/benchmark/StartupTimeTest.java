@@ -0,0 +1,109 @@
+package com.javaguides.springboot.benchmark;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+// time from launching the JVM to the first answered GET /api/employees, before and after the fast-startup package:
+// the plain jar with ddl-auto=update, then the extracted jar with the fast-startup profile (Flyway, lazy beans),
+// with the AOT-generated context and with the CDS archive on top. every launch gets a fresh in-memory H2 database.
+// the jars come from the fast-startup build in target/fast-startup, -Druns sets the launches per variant:
+// ./mvnw -Pfast-startup,benchmark package exec:exec@load-test -DskipTests -Dload.test=com.javaguides.springboot.benchmark.StartupTimeTest
+public class StartupTimeTest {
+
+    private static final String JAR = "spring-boot-testing-0.0.1-SNAPSHOT.jar";
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    private record Variant(String name, Path directory, List<String> jvmArgs, List<String> appArgs) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path target = Path.of("target", "fast-startup");
+        Path application = target.resolve("application");
+        if (!Files.exists(application.resolve("application.jsa"))) {
+            throw new IllegalStateException("no CDS archive in " + application.toAbsolutePath() + ", build with -Pfast-startup");
+        }
+        List<String> fastStartup = List.of("--spring.profiles.active=fast-startup");
+        List<Variant> variants = List.of(
+                new Variant("jar, ddl-auto=update", target, List.of(), List.of()),
+                new Variant("fast-startup profile", application, List.of(), fastStartup),
+                new Variant("fast-startup + AOT", application, List.of("-Dspring.aot.enabled=true"), fastStartup),
+                new Variant("fast-startup + AOT + CDS", application,
+                        List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=application.jsa"), fastStartup));
+
+        int runs = Integer.getInteger("runs", 5);
+        List<String> results = new ArrayList<>();
+        for (Variant variant : variants) {
+            long[] millis = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                millis[run] = timeToFirstRequest(variant, run);
+            }
+            Arrays.sort(millis);
+            results.add(String.format("%-30s median %6d ms   min %6d ms   max %6d ms",
+                    variant.name(), millis[runs / 2], millis[0], millis[runs - 1]));
+        }
+        System.out.println();
+        results.forEach(System.out::println);
+    }
+
+    private static long timeToFirstRequest(Variant variant, int run) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(variant.jvmArgs());
+        command.addAll(List.of("-jar", JAR));
+        command.addAll(Stream.concat(variant.appArgs().stream(), Stream.of(
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:mem:startup-" + run + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--logging.level.root=WARN")).toList());
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/employees")).GET().build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(variant.directory().toFile())
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(variant.name() + " exited with " + process.exitValue());
+                }
+                try {
+                    if (CLIENT.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return (System.nanoTime() - start) / 1_000_000;
+                    }
+                } catch (IOException e) {
+                    // not listening yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException(variant.name() + " didn't answer within " + TIMEOUT);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
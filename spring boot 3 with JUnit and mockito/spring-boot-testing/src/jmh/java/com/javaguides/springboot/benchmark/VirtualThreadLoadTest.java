@@ -0,0 +1,53 @@
+package com.javaguides.springboot.benchmark;
+
+import com.javaguides.springboot.service.EmployeeService;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// throughput and p99 of the /api/employees endpoints on platform threads versus the 'virtual' profile:
+// ./mvnw -Pbenchmark test-compile exec:exec@load-test -Dload.test=com.javaguides.springboot.benchmark.VirtualThreadLoadTest
+public class VirtualThreadLoadTest {
+
+    private static final int EMPLOYEES = 10_000;
+
+    public static void main(String[] args) throws Exception {
+        List<HttpLoadGenerator.Result> results = new ArrayList<>();
+        for (String mode : new String[]{"platform", "virtual"}) {
+            try (ConfigurableApplicationContext context = BenchmarkApplication.startWeb(
+                    "--spring.profiles.active=" + ("virtual".equals(mode) ? "virtual" : "default"))) {
+                long[] ids = BenchmarkApplication.seed(context.getBean(EmployeeService.class), EMPLOYEES);
+                String baseUrl = BenchmarkApplication.baseUrl(context);
+                AtomicLong created = new AtomicLong(EMPLOYEES);
+
+                results.add(HttpLoadGenerator.run(mode + " GET /api/employees/{id}",
+                        HttpLoadGenerator.concurrency(), HttpLoadGenerator.duration(),
+                        () -> get(baseUrl + "/" + ids[ThreadLocalRandom.current().nextInt(ids.length)])));
+                results.add(HttpLoadGenerator.run(mode + " GET /api/employees?size=50",
+                        HttpLoadGenerator.concurrency(), HttpLoadGenerator.duration(),
+                        () -> get(baseUrl + "?size=50&cursor=" + ids[ThreadLocalRandom.current().nextInt(ids.length)])));
+                results.add(HttpLoadGenerator.run(mode + " POST /api/employees",
+                        HttpLoadGenerator.concurrency(), HttpLoadGenerator.duration(),
+                        () -> post(baseUrl, created.incrementAndGet())));
+            }
+        }
+        HttpLoadGenerator.print(results);
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET().build();
+    }
+
+    private static HttpRequest post(String url, long n) {
+        String body = "{\"firstName\":\"First" + n + "\",\"lastName\":\"Last" + n + "\",\"email\":\"employee" + n + "@example.com\"}";
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
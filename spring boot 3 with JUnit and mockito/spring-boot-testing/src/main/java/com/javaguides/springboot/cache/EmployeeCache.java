@@ -0,0 +1,190 @@
+package com.javaguides.springboot.cache;
+
+import com.javaguides.springboot.dto.EmployeeSummary;
+import com.javaguides.springboot.dto.EmployeeView;
+import com.javaguides.springboot.model.Employee;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+// id -> employee, email -> id and name search caches used by EmployeeServiceImpl. employees are held as immutable
+// EmployeeView records, handed out as they are to the read model and copied into a new Employee for everyone else.
+// spring.cache.type picks the implementation (caffeine in process, none for a no-op cache),
+// size, ttl and stats recording come from spring.cache.caffeine.spec
+@Component
+public class EmployeeCache {
+
+    public static final String BY_ID = "employeesById";
+    public static final String BY_EMAIL = "employeesByEmail";
+    public static final String BY_NAME = "employeesByName";
+
+    private Cache byId;
+    private Cache byEmail;
+    private Cache byName;
+    // id -> System.nanoTime() when the last write to that employee completed, kept for about two tombstone periods
+    private ConcurrentMap<Long, Long> writes = new ConcurrentHashMap<>();
+    private long tombstoneNanos;
+    private volatile long nextPrune;
+
+    public EmployeeCache(CacheManager cacheManager, @Value("${employee.cache.tombstone:2s}") Duration tombstone) {
+        this.byId = cacheManager.getCache(BY_ID);
+        this.byEmail = cacheManager.getCache(BY_EMAIL);
+        this.byName = cacheManager.getCache(BY_NAME);
+        this.tombstoneNanos = tombstone.toNanos();
+        this.nextPrune = System.nanoTime();
+    }
+
+    public Optional<Employee> getById(long id) {
+        return getViewById(id).map(EmployeeCache::toEmployee);
+    }
+
+    public Optional<EmployeeView> getViewById(long id) {
+        return Optional.ofNullable(byId.get(id, EmployeeView.class));
+    }
+
+    // the email entry only points at an id, it is a hit only while that employee still has this email
+    public Optional<Employee> getByEmail(String email) {
+        Long id = byEmail.get(email, Long.class);
+        if (id == null) {
+            return Optional.empty();
+        }
+        Optional<Employee> employee = getById(id).filter(cached -> email.equals(cached.getEmail()));
+        if (employee.isEmpty()) {
+            byEmail.evict(email);
+        }
+        return employee;
+    }
+
+    public void put(Employee employee) {
+        put(EmployeeView.of(employee));
+    }
+
+    public void put(EmployeeView employee) {
+        byId.put(employee.id(), employee);
+        byEmail.put(employee.email(), employee.id());
+    }
+
+    public void evict(long id) {
+        byId.evict(id);
+    }
+
+    // for reads: the time to hand to putLoaded, taken before the employee is loaded
+    public long loadStarted() {
+        return System.nanoTime();
+    }
+
+    public void putLoaded(Employee employee, long loadStarted) {
+        putLoaded(EmployeeView.of(employee), loadStarted);
+    }
+
+    // for reads: skipped while the employee has a tombstone, i.e. when a write to it completed after the load
+    // started or less than the tombstone period before. such a load may have read the row before the write
+    // committed or from a replica that hasn't applied it yet, and would otherwise keep it cached for the whole ttl
+    public void putLoaded(EmployeeView employee, long loadStarted) {
+        if (!cacheable(employee.id(), loadStarted)) {
+            return;
+        }
+        put(employee);
+        // a write completing between the check and the put may have evicted before it, so look again
+        if (!cacheable(employee.id(), loadStarted)) {
+            evict(employee.id());
+        }
+    }
+
+    // for writes: cached once the transaction has committed, a rolled back write never reaches the cache
+    public void putAfterCommit(Employee employee) {
+        EmployeeView view = EmployeeView.of(employee);
+        onCompletion(committed -> {
+            if (committed) {
+                written(List.of(view.id()));
+                put(view);
+            }
+        });
+    }
+
+    // for writes: evicted right away and again once the transaction has completed, a read that ran between the
+    // write and its commit saw the old row and may have cached it
+    public void evictOnCompletion(Collection<Long> ids) {
+        List<Long> copy = List.copyOf(ids);
+        copy.forEach(this::evict);
+        onCompletion(committed -> {
+            written(copy);
+            copy.forEach(this::evict);
+        });
+    }
+
+    // the name searches the same way, any write can change which employees match a name prefix
+    public void evictNameSearchesOnCompletion() {
+        evictNameSearches();
+        onCompletion(committed -> evictNameSearches());
+    }
+
+    @SuppressWarnings("unchecked")
+    public Optional<List<EmployeeSummary>> getNameSearch(String key) {
+        return Optional.ofNullable((List<EmployeeSummary>) byName.get(key, List.class));
+    }
+
+    public void putNameSearch(String key, List<EmployeeSummary> summaries) {
+        byName.put(key, List.copyOf(summaries));
+    }
+
+    public void evictNameSearches() {
+        byName.clear();
+    }
+
+    // a load that took longer than the tombstone period is never cached, so tombstones older than twice that
+    // can't block anything anymore
+    private boolean cacheable(long id, long loadStarted) {
+        if (System.nanoTime() - loadStarted > tombstoneNanos) {
+            return false;
+        }
+        Long written = writes.get(id);
+        return written == null || loadStarted - written > tombstoneNanos;
+    }
+
+    // tombstones first, the evictions and puts after them
+    private void written(Collection<Long> ids) {
+        long now = System.nanoTime();
+        ids.forEach(id -> writes.merge(id, now, Math::max));
+        if (now - nextPrune > 0) {
+            nextPrune = now + tombstoneNanos;
+            writes.values().removeIf(written -> now - written > 2 * tombstoneNanos);
+        }
+    }
+
+    // outside a transaction the change is already committed
+    private static void onCompletion(Consumer<Boolean> action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.accept(status == STATUS_COMMITTED);
+                }
+            });
+        } else {
+            action.accept(true);
+        }
+    }
+
+    // a new mutable Employee per call so callers can't change what other requests read
+    private static Employee toEmployee(EmployeeView employee) {
+        return Employee.builder()
+                .id(employee.id())
+                .firstName(employee.firstName())
+                .lastName(employee.lastName())
+                .email(employee.email())
+                .version(employee.version())
+                .build();
+    }
+}
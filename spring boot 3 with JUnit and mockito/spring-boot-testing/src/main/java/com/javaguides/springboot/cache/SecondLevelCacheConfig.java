@@ -0,0 +1,75 @@
+package com.javaguides.springboot.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.javaguides.springboot.model.Employee;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.LinkedHashSet;
+import java.util.OptionalLong;
+import java.util.Set;
+
+// opt-in Hibernate second-level cache: the Employee entity region, the employee query region and Hibernate's
+// own query result and update timestamp regions, each a Caffeine cache sized from employee.l2-cache.regions.
+// hits, misses and puts per region are published as cache.gets/cache.puts with cacheManager=hibernate
+@Configuration
+@ConditionalOnProperty("employee.l2-cache.enabled")
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(SecondLevelCacheProperties properties, MeterRegistry meterRegistry) {
+        // one cache manager per application context, a shared uri would hand the same caches to every context
+        URI uri = URI.create("hibernate-" + Integer.toHexString(System.identityHashCode(properties)));
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(uri, getClass().getClassLoader());
+        for (String region : regionNames(properties)) {
+            SecondLevelCacheProperties.Region settings = properties.getRegions()
+                    .getOrDefault(region, new SecondLevelCacheProperties.Region());
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            // Hibernate only stores immutable cache entries, copying them on every read and write buys nothing
+            configuration.setStoreByValue(false);
+            configuration.setStatisticsEnabled(true);
+            configuration.setMaximumSize(OptionalLong.of(settings.getMaximumSize()));
+            if (settings.getExpireAfterWrite() != null) {
+                configuration.setExpireAfterWrite(OptionalLong.of(settings.getExpireAfterWrite().toNanos()));
+            }
+            JCacheMetrics.monitor(meterRegistry, cacheManager.createCache(region, configuration), "cacheManager", "hibernate");
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            // every region is created above, a typo in a region name should fail at startup
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static Set<String> regionNames(SecondLevelCacheProperties properties) {
+        Set<String> regions = new LinkedHashSet<>();
+        regions.add(Employee.CACHE_REGION);
+        regions.add(Employee.QUERY_CACHE_REGION);
+        regions.add(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+        regions.add(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME);
+        regions.addAll(properties.getRegions().keySet());
+        return regions;
+    }
+}
@@ -0,0 +1,28 @@
+package com.javaguides.springboot.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// employee.l2-cache.regions.<region>.maximum-size/expire-after-write, regions that aren't listed get the defaults below
+@Getter
+@Setter
+@ConfigurationProperties("employee.l2-cache")
+public class SecondLevelCacheProperties {
+
+    private boolean enabled;
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Region {
+
+        private long maximumSize = 10_000;
+        // null keeps entries until they are evicted by size or invalidated by a write
+        private Duration expireAfterWrite;
+    }
+}
@@ -0,0 +1,56 @@
+package com.javaguides.springboot.controller;
+
+import com.javaguides.springboot.dto.EmployeeChangePage;
+import com.javaguides.springboot.outbox.EmployeeOutbox;
+import com.javaguides.springboot.outbox.SseEmployeeChangePublisher;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/employees/changes")
+public class EmployeeChangeController {
+
+    private EmployeeOutbox employeeOutbox;
+    private SseEmployeeChangePublisher ssePublisher;
+    private AsyncTaskExecutor taskExecutor;
+
+    public EmployeeChangeController(EmployeeOutbox employeeOutbox, SseEmployeeChangePublisher ssePublisher,
+                                    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                                    AsyncTaskExecutor taskExecutor) {
+        this.employeeOutbox = employeeOutbox;
+        this.ssePublisher = ssePublisher;
+        this.taskExecutor = taskExecutor;
+    }
+
+    // incremental feed: GET /api/employees/changes?since=<nextSince of the previous page>
+    @GetMapping
+    public EmployeeChangePage getChanges(@RequestParam(value = "since", defaultValue = "0") long since,
+                                         @RequestParam(value = "limit", defaultValue = "500") int limit) {
+        return employeeOutbox.findChanges(since, limit);
+    }
+
+    // live feed of the changes. with since (or Last-Event-ID on reconnect) the stored changes after it are
+    // replayed first, live events may overlap the replay so clients should skip sequences they already have
+    @GetMapping(value = "stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(value = "since", required = false) Long since,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        SseEmitter emitter = ssePublisher.subscribe();
+        Long from = lastEventId != null ? lastEventId : since;
+        if (from != null) {
+            // after the emitter is returned: the request thread is free right away and, once the response is open,
+            // a slow client holds the replay back instead of the whole backlog piling up in the emitter
+            taskExecutor.execute(() -> ssePublisher.replay(emitter, from));
+        }
+        return emitter;
+    }
+}
@@ -1,21 +1,71 @@
 package com.javaguides.springboot.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.javaguides.springboot.dto.BatchItemResult;
+import com.javaguides.springboot.dto.EmployeePage;
+import com.javaguides.springboot.dto.EmployeeSummary;
+import com.javaguides.springboot.dto.EmployeeView;
+import com.javaguides.springboot.dto.ImportReport;
+import com.javaguides.springboot.dto.PurgeReport;
+import com.javaguides.springboot.dto.VersionedEmployeeList;
 import com.javaguides.springboot.model.Employee;
+import com.javaguides.springboot.service.EmployeeAsyncService;
+import com.javaguides.springboot.service.EmployeeExportService;
+import com.javaguides.springboot.service.EmployeeFileFormat;
+import com.javaguides.springboot.service.EmployeeImportService;
 import com.javaguides.springboot.service.EmployeeService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
 
+// the reactive profile serves /api/employees from ReactiveEmployeeController instead
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/employees")
 public class EmployeeController {
 
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+    // host names only, the domain ends up in a LIKE pattern
+    private static final Pattern EMAIL_DOMAIN = Pattern.compile("[A-Za-z0-9-]+(\\.[A-Za-z0-9-]+)*");
+
     private EmployeeService employeeService;
+    private EmployeeAsyncService employeeAsyncService;
+    private EmployeeImportService employeeImportService;
+    private EmployeeExportService employeeExportService;
+    private ObjectWriter employeeWriter;
+    private String cacheControl;
 
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, EmployeeAsyncService employeeAsyncService,
+                              EmployeeImportService employeeImportService, EmployeeExportService employeeExportService,
+                              ObjectMapper objectMapper,
+                              @Value("${employee.http.cache-control:no-cache}") String cacheControl) {
         this.employeeService = employeeService;
+        this.employeeAsyncService = employeeAsyncService;
+        this.employeeImportService = employeeImportService;
+        this.employeeExportService = employeeExportService;
+        this.employeeWriter = objectMapper.writerFor(Employee.class);
+        this.cacheControl = cacheControl;
     }
 
     @PostMapping
@@ -24,38 +74,243 @@ public class EmployeeController {
         return employeeService.saveEmployee(employee);
     }
 
+    // bulk create, one result per element of the request array
+    @PostMapping("batch")
+    public List<BatchItemResult> createEmployees(@RequestBody List<Employee> employees) {
+        return employeeService.saveEmployees(employees);
+    }
+
+    // streaming bulk import of a text/csv or application/x-ndjson body
+    @PostMapping(value = "import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ImportReport> importEmployees(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                        InputStream body) {
+        EmployeeFileFormat format = MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(contentType))
+                ? EmployeeFileFormat.NDJSON
+                : EmployeeFileFormat.CSV;
+        try {
+            return ResponseEntity.ok(employeeImportService.importEmployees(body, format));
+        } catch (IllegalArgumentException e) {
+            // unusable CSV header
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // the ETag is the collection version, If-None-Match with the current one is answered 304 after a single
+    // version lookup instead of loading and serializing every employee
     @GetMapping
-    public List<Employee> getAllEmployees() {
-        return employeeService.getAllEmployees();
+    public ResponseEntity<List<EmployeeView>> getAllEmployees(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String version = employeeService.getEmployeesVersion();
+            if (EmployeeETags.matchesAny(ifNoneMatch, version)) {
+                return cacheable(ResponseEntity.status(HttpStatus.NOT_MODIFIED), version).build();
+            }
+        }
+        VersionedEmployeeList employees = employeeService.getAllEmployeesWithVersion();
+        return cacheable(ResponseEntity.ok(), employees.getVersion()).body(employees.getEmployees());
     }
 
-    @GetMapping("{id}")
-    public ResponseEntity<Employee> getEmployeeById(@PathVariable("id") long employeeId) {
-        return employeeService.getEmployeeById(employeeId)
+    // keyset pagination: GET /api/employees?size=100&cursor=<nextCursor of the previous page>
+    @GetMapping(params = "size")
+    public EmployeePage getEmployeesPage(@RequestParam(value = "cursor", defaultValue = "0") long cursor,
+                                         @RequestParam("size") int size) {
+        return employeeService.getEmployeesPage(cursor, size);
+    }
+
+    // multi-get in one query: GET /api/employees?ids=1,2,3, unknown ids are left out
+    @GetMapping(params = "ids")
+    public List<EmployeeView> getEmployeesByIds(@RequestParam("ids") List<Long> employeeIds) {
+        return employeeService.getEmployeesByIds(employeeIds);
+    }
+
+    // name prefix search: GET /api/employees/by-name?lastName=Ris&firstName=Go&size=20
+    @GetMapping("by-name")
+    public List<EmployeeSummary> searchByName(@RequestParam("lastName") String lastName,
+                                              @RequestParam(value = "firstName", required = false) String firstName,
+                                              @RequestParam(value = "size", defaultValue = "20") int size) {
+        return employeeService.searchByName(lastName, firstName, size);
+    }
+
+    // full-text search: GET /api/employees/search?q=gora ris&limit=20, every term has to match, best matches first
+    @GetMapping("search")
+    public ResponseEntity<List<EmployeeSummary>> searchEmployees(@RequestParam("q") String query,
+                                                                 @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        if (query.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return employeeService.searchEmployees(query, limit)
                 .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build());
+    }
+
+    // newline delimited JSON, rows are written as they are read from the database
+    @GetMapping(value = "stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllEmployees() {
+        StreamingResponseBody body = outputStream ->
+                employeeService.streamAllEmployees(employee -> writeLine(outputStream, employee));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    // full table export read through a JDBC cursor: GET /api/employees/export?format=csv|ndjson&gzip=true.
+    // memory use is constant, gzip is applied while the rows are written
+    @GetMapping("export")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(@RequestParam(value = "format", defaultValue = "csv") String format,
+                                                                 @RequestParam(value = "gzip", defaultValue = "false") boolean gzip) {
+        EmployeeFileFormat fileFormat;
+        try {
+            fileFormat = EmployeeFileFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = outputStream -> {
+            if (!gzip) {
+                employeeExportService.exportEmployees(fileFormat, outputStream);
+                return;
+            }
+            GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream, 64 * 1024);
+            employeeExportService.exportEmployees(fileFormat, gzipStream);
+            gzipStream.finish();
+        };
+        String fileName = "employees." + (fileFormat == EmployeeFileFormat.CSV ? "csv" : "ndjson");
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(fileFormat == EmployeeFileFormat.CSV ? TEXT_CSV : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    // If-None-Match with the current version is answered 304 from the version alone
+    @GetMapping("{id}")
+    public ResponseEntity<EmployeeView> getEmployeeById(@PathVariable("id") long employeeId,
+                                                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            Optional<Long> version = employeeService.getEmployeeVersion(employeeId);
+            if (version.isPresent() && EmployeeETags.matchesAny(ifNoneMatch, version.get())) {
+                return cacheable(ResponseEntity.status(HttpStatus.NOT_MODIFIED), Long.toString(version.get())).build();
+            }
+        }
+        return employeeService.getEmployeeViewById(employeeId)
+                .map(employee -> cacheable(ResponseEntity.ok(), Long.toString(employee.version())).body(employee))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
-    @PutMapping("{id}")
-    public ResponseEntity<Employee> updateEmployee(@PathVariable("id") long employeeId, @RequestBody Employee employee) {
-        return employeeService.getEmployeeById(employeeId)
-                .map(savedEmployee -> {
-                    savedEmployee.setFirstName(employee.getFirstName());
-                    savedEmployee.setLastName(employee.getLastName());
-                    savedEmployee.setEmail(employee.getEmail());
+    // async variants, the servlet thread is released while the lookup runs on the employee executor
 
-                    Employee updatedEmployee = employeeService.updateEmployee(savedEmployee);
-                    return new ResponseEntity<>(updatedEmployee, HttpStatus.OK);
+    @GetMapping("async/{id}")
+    public CompletableFuture<ResponseEntity<EmployeeView>> getEmployeeByIdAsync(@PathVariable("id") long employeeId) {
+        return employeeAsyncService.getEmployeeById(employeeId)
+                .thenApply(employee -> employee.map(ResponseEntity::ok)
+                        .orElseGet(() -> ResponseEntity.notFound().build()));
+    }
+
+    @GetMapping(value = "async", params = "ids")
+    public CompletableFuture<List<EmployeeView>> getEmployeesByIdsAsync(@RequestParam("ids") List<Long> employeeIds) {
+        return employeeAsyncService.getEmployeesByIds(employeeIds);
+    }
 
-                })
+    @PostMapping("async")
+    @ResponseStatus(HttpStatus.CREATED)
+    public CompletableFuture<Employee> createEmployeeAsync(@RequestBody Employee employee) {
+        return employeeAsyncService.saveEmployee(employee);
+    }
+
+    @PutMapping("{id}")
+    public ResponseEntity<Employee> updateEmployee(@PathVariable("id") long employeeId, @RequestBody Employee employee,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        // a stale If-Match is answered 412 by the OptimisticLockingFailureException handler
+        return employeeService.updateEmployee(employeeId, employee, EmployeeETags.parseVersion(ifMatch))
+                .map(updatedEmployee -> ResponseEntity.ok().eTag(Long.toString(updatedEmployee.getVersion())).body(updatedEmployee))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    // partial update in a single statement, only the non-null fields of the body are written.
+    // with If-Match the update only applies to that version and the new ETag is returned
+    @PatchMapping("{id}")
+    public ResponseEntity<Void> patchEmployee(@PathVariable("id") long employeeId, @RequestBody Employee changes,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (changes.getFirstName() == null && changes.getLastName() == null && changes.getEmail() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        Long expectedVersion = EmployeeETags.parseVersion(ifMatch);
+        if (!employeeService.patchEmployee(employeeId, changes, expectedVersion)) {
+            return ResponseEntity.notFound().build();
+        }
+        if (expectedVersion == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.noContent().eTag(Long.toString(expectedVersion + 1)).build();
+    }
+
+    // bulk update, employees are matched by their id
+    @PutMapping("batch")
+    public List<BatchItemResult> updateEmployees(@RequestBody List<Employee> employees) {
+        return employeeService.updateEmployees(employees);
+    }
 
     @DeleteMapping("{id}")
-    public ResponseEntity<String> deleteEmployee(@PathVariable("id") long employeeId) {
+    public ResponseEntity<Void> deleteEmployee(@PathVariable("id") long employeeId) {
+        if (!employeeService.deleteEmployee(employeeId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    // bulk delete by id
+    @DeleteMapping("batch")
+    public List<BatchItemResult> deleteEmployees(@RequestBody List<Long> employeeIds) {
+        return employeeService.deleteEmployees(employeeIds);
+    }
+
+    // purges for large deletes: chunked DELETEs in short transactions instead of one that locks every row,
+    // so a failure can leave part of the employees deleted
+    @DeleteMapping(params = "ids")
+    public PurgeReport purgeEmployees(@RequestParam("ids") List<Long> employeeIds) {
+        return purge(() -> employeeService.purgeEmployees(employeeIds));
+    }
+
+    @DeleteMapping(params = "emailDomain")
+    public ResponseEntity<PurgeReport> purgeEmployeesByEmailDomain(@RequestParam("emailDomain") String emailDomain) {
+        if (!EMAIL_DOMAIN.matcher(emailDomain).matches()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(purge(() -> employeeService.purgeEmployeesByEmailDomain(emailDomain)));
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Void> versionConflict() {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+    }
+
+    // the async executor queue is full, ask the client to back off
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Void> executorSaturated() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+    }
+
+    private static PurgeReport purge(LongSupplier purge) {
+        long start = System.nanoTime();
+        long deleted = purge.getAsLong();
+        return new PurgeReport(deleted, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private ResponseEntity.BodyBuilder cacheable(ResponseEntity.BodyBuilder response, String version) {
+        response.eTag(version);
+        if (!cacheControl.isBlank()) {
+            response.header(HttpHeaders.CACHE_CONTROL, cacheControl);
+        }
+        return response;
+    }
 
-        employeeService.deleteEmployee(employeeId);
-        return new ResponseEntity<>("Employee Deleted Successfully.", HttpStatus.OK);
+    private void writeLine(OutputStream outputStream, Employee employee) {
+        try {
+            outputStream.write(employeeWriter.writeValueAsBytes(employee));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
@@ -0,0 +1,35 @@
+package com.javaguides.springboot.controller;
+
+import org.springframework.http.ETag;
+
+// employee versions as entity tags, shared by the servlet and the reactive controllers
+public final class EmployeeETags {
+
+    private EmployeeETags() {
+    }
+
+    // If-None-Match: * or a list of tags, compared weakly as GET requires
+    public static boolean matchesAny(String ifNoneMatch, long version) {
+        return matchesAny(ifNoneMatch, Long.toString(version));
+    }
+
+    public static boolean matchesAny(String ifNoneMatch, String tag) {
+        return ETag.parse(ifNoneMatch).stream().anyMatch(eTag -> eTag.isWildcard() || tag.equals(eTag.tag()));
+    }
+
+    // If-Match "3" (or W/"3") -> 3, missing or * -> null, anything else can never match
+    public static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        try {
+            return Long.parseLong(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.javaguides.springboot.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+
+// replaces boot's single pool as soon as a replica url is configured. every pool takes the spring.datasource.hikari
+// settings, the replicas get a short connection timeout and may be down when the application starts
+@Configuration
+@ConditionalOnProperty("employee.datasource.replicas[0].url")
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties dataSourceProperties,
+                                 ReplicaRoutingProperties routingProperties,
+                                 Environment environment,
+                                 MeterRegistry meterRegistry) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = pool(binder, meterRegistry, "primary", dataSourceProperties,
+                dataSourceProperties.determineUrl(), dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword());
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (ReplicaRoutingProperties.Replica replica : routingProperties.getReplicas()) {
+            HikariDataSource pool = pool(binder, meterRegistry, "replica-" + replicas.size(), dataSourceProperties,
+                    replica.getUrl(),
+                    replica.getUsername() != null ? replica.getUsername() : dataSourceProperties.determineUsername(),
+                    replica.getPassword() != null ? replica.getPassword() : dataSourceProperties.determinePassword());
+            pool.setConnectionTimeout(routingProperties.getReplicaConnectionTimeout().toMillis());
+            pool.setInitializationFailTimeout(-1);
+            replicas.add(pool);
+        }
+
+        return new RoutingDataSourceProxy(new ReplicaRoutingDataSource(primary, replicas,
+                routingProperties.getLoadBalancing(), routingProperties.getReplicaCooldown(), meterRegistry));
+    }
+
+    private static HikariDataSource pool(Binder binder, MeterRegistry meterRegistry, String name,
+                                         DataSourceProperties dataSourceProperties,
+                                         String url, String username, String password) {
+        HikariDataSource pool = new HikariDataSource();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        pool.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        pool.setPoolName("employees-" + name);
+        pool.setMetricRegistry(meterRegistry);
+        return pool;
+    }
+
+    // closes the pools behind the lazy proxy on shutdown
+    public static class RoutingDataSourceProxy extends LazyConnectionDataSourceProxy implements Closeable {
+
+        private final ReplicaRoutingDataSource routingDataSource;
+
+        public RoutingDataSourceProxy(ReplicaRoutingDataSource routingDataSource) {
+            super(routingDataSource);
+            this.routingDataSource = routingDataSource;
+        }
+
+        @Override
+        public void close() {
+            routingDataSource.close();
+        }
+    }
+}
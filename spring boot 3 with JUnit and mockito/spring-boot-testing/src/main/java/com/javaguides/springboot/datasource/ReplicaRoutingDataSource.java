@@ -0,0 +1,101 @@
+package com.javaguides.springboot.datasource;
+
+import com.javaguides.springboot.datasource.ReplicaRoutingProperties.LoadBalancing;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// connections for read-only transactions come from a replica, everything else from the primary.
+// a replica that can't hand out a connection is skipped for the cooldown and the read goes to the next one,
+// or to the primary when none is left. needs a LazyConnectionDataSourceProxy in front of it, so that the
+// connection is only fetched after the transaction's read-only flag is set
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private HikariDataSource primary;
+    private List<Replica> replicas;
+    private LoadBalancing loadBalancing;
+    private long cooldownNanos;
+    private AtomicInteger nextReplica = new AtomicInteger();
+    private Counter fallbacks;
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+                                    LoadBalancing loadBalancing, Duration cooldown, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.loadBalancing = loadBalancing;
+        this.cooldownNanos = cooldown.toNanos();
+        this.fallbacks = Counter.builder("employee.datasource.replica.fallbacks")
+                .description("Read-only connections served by the primary because no replica was available")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (replicas.isEmpty() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return primary.getConnection();
+        }
+        int first = loadBalancing == LoadBalancing.RANDOM
+                ? ThreadLocalRandom.current().nextInt(replicas.size())
+                : Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((first + i) % replicas.size());
+            if (replica.isAvailable()) {
+                try {
+                    return replica.dataSource.getConnection();
+                } catch (SQLException e) {
+                    replica.markDown(cooldownNanos);
+                    LOGGER.warn("Replica {} is unavailable, skipping it for {} ms: {}", replica.dataSource.getPoolName(),
+                            cooldownNanos / 1_000_000, e.getMessage());
+                }
+            }
+        }
+        fallbacks.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("credentials are configured per pool");
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+        primary.close();
+    }
+
+    private static class Replica {
+
+        private final HikariDataSource dataSource;
+        private volatile boolean down;
+        private volatile long downUntil;
+
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private boolean isAvailable() {
+            return !down || System.nanoTime() - downUntil >= 0;
+        }
+
+        private void markDown(long cooldownNanos) {
+            downUntil = System.nanoTime() + cooldownNanos;
+            down = true;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.javaguides.springboot.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// employee.datasource.replicas[n].url/username/password, username and password default to spring.datasource's
+@Getter
+@Setter
+@ConfigurationProperties("employee.datasource")
+public class ReplicaRoutingProperties {
+
+    public enum LoadBalancing {
+        ROUND_ROBIN, RANDOM
+    }
+
+    private List<Replica> replicas = new ArrayList<>();
+    private LoadBalancing loadBalancing = LoadBalancing.ROUND_ROBIN;
+    // how long a replica that failed to hand out a connection is skipped
+    private Duration replicaCooldown = Duration.ofSeconds(30);
+    // kept short so that reads fall back to the primary quickly when a replica is down
+    private Duration replicaConnectionTimeout = Duration.ofSeconds(1);
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,19 @@
+package com.javaguides.springboot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// outcome of one element of a batch request, index is the position in the request array
+@Getter
+@AllArgsConstructor
+public class BatchItemResult {
+
+    public enum Status {
+        CREATED, UPDATED, DELETED, DUPLICATE_EMAIL, NOT_FOUND, INVALID
+    }
+
+    private int index;
+    private Long id;
+    private Status status;
+    private String message;
+}
@@ -0,0 +1,17 @@
+package com.javaguides.springboot.dto;
+
+import com.javaguides.springboot.model.EmployeeChange;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// one page of the change feed, pass nextSince as since to get the following changes. changes that are too recent
+// to be sure nothing commits before them are returned but not passed by nextSince
+@Getter
+@AllArgsConstructor
+public class EmployeeChangePage {
+
+    private List<EmployeeChange> changes;
+    private long nextSince;
+}
@@ -0,0 +1,15 @@
+package com.javaguides.springboot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// one page of a keyset (id based) scan, nextCursor is null on the last page
+@Getter
+@AllArgsConstructor
+public class EmployeePage {
+
+    private List<EmployeeView> content;
+    private Long nextCursor;
+}
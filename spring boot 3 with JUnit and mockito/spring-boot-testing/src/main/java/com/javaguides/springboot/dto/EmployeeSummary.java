@@ -0,0 +1,15 @@
+package com.javaguides.springboot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// read-only projection returned by the name search
+@Getter
+@AllArgsConstructor
+public class EmployeeSummary {
+
+    private final long id;
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+}
@@ -0,0 +1,13 @@
+package com.javaguides.springboot.dto;
+
+import com.javaguides.springboot.model.Employee;
+
+// immutable read model of an employee, what the GET endpoints return. selected straight into this record by the
+// repository's constructor expressions, so reads never create managed entities or their dirty-checking snapshots
+public record EmployeeView(long id, String firstName, String lastName, String email, long version) {
+
+    public static EmployeeView of(Employee employee) {
+        return new EmployeeView(employee.getId(), employee.getFirstName(), employee.getLastName(),
+                employee.getEmail(), employee.getVersion());
+    }
+}
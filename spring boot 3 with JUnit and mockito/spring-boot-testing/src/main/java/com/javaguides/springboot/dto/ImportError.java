@@ -0,0 +1,13 @@
+package com.javaguides.springboot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// a rejected row of a bulk import, line is the 1-based line number in the uploaded file
+@Getter
+@AllArgsConstructor
+public class ImportError {
+
+    private long line;
+    private String message;
+}
@@ -0,0 +1,20 @@
+package com.javaguides.springboot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// outcome of a bulk import, errors is capped at employee.import.max-errors entries
+@Getter
+@AllArgsConstructor
+public class ImportReport {
+
+    private long rows;
+    private long imported;
+    private long duplicates;
+    private long invalid;
+    private List<ImportError> errors;
+    private boolean errorsTruncated;
+    private long elapsedMillis;
+}
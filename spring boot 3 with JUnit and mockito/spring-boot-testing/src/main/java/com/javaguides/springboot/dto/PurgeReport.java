@@ -0,0 +1,13 @@
+package com.javaguides.springboot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// outcome of a chunked bulk delete
+@Getter
+@AllArgsConstructor
+public class PurgeReport {
+
+    private long deleted;
+    private long elapsedMillis;
+}
@@ -0,0 +1,15 @@
+package com.javaguides.springboot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// all employees together with the collection version they were read at
+@Getter
+@AllArgsConstructor
+public class VersionedEmployeeList {
+
+    private String version;
+    private List<EmployeeView> employees;
+}
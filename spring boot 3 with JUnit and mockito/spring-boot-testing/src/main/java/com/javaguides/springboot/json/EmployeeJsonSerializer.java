@@ -0,0 +1,42 @@
+package com.javaguides.springboot.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.javaguides.springboot.model.Employee;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+// hand written Employee serializer: no property introspection or per-field reflection, and the field names are
+// encoded once. writes the same fields in the same order as the bean serializer did
+@JsonComponent
+public class EmployeeJsonSerializer extends StdSerializer<Employee> {
+
+    static final SerializedString ID = new SerializedString("id");
+    static final SerializedString FIRST_NAME = new SerializedString("firstName");
+    static final SerializedString LAST_NAME = new SerializedString("lastName");
+    static final SerializedString EMAIL = new SerializedString("email");
+    static final SerializedString VERSION = new SerializedString("version");
+
+    public EmployeeJsonSerializer() {
+        super(Employee.class);
+    }
+
+    @Override
+    public void serialize(Employee employee, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(employee);
+        generator.writeFieldName(ID);
+        generator.writeNumber(employee.getId());
+        generator.writeFieldName(FIRST_NAME);
+        generator.writeString(employee.getFirstName());
+        generator.writeFieldName(LAST_NAME);
+        generator.writeString(employee.getLastName());
+        generator.writeFieldName(EMAIL);
+        generator.writeString(employee.getEmail());
+        generator.writeFieldName(VERSION);
+        generator.writeNumber(employee.getVersion());
+        generator.writeEndObject();
+    }
+}
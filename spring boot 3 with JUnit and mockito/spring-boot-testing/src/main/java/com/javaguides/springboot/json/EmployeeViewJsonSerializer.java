@@ -0,0 +1,34 @@
+package com.javaguides.springboot.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.javaguides.springboot.dto.EmployeeView;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+// EmployeeView written exactly like EmployeeJsonSerializer writes an Employee, clients can't tell the two apart
+@JsonComponent
+public class EmployeeViewJsonSerializer extends StdSerializer<EmployeeView> {
+
+    public EmployeeViewJsonSerializer() {
+        super(EmployeeView.class);
+    }
+
+    @Override
+    public void serialize(EmployeeView employee, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(employee);
+        generator.writeFieldName(EmployeeJsonSerializer.ID);
+        generator.writeNumber(employee.id());
+        generator.writeFieldName(EmployeeJsonSerializer.FIRST_NAME);
+        generator.writeString(employee.firstName());
+        generator.writeFieldName(EmployeeJsonSerializer.LAST_NAME);
+        generator.writeString(employee.lastName());
+        generator.writeFieldName(EmployeeJsonSerializer.EMAIL);
+        generator.writeString(employee.email());
+        generator.writeFieldName(EmployeeJsonSerializer.VERSION);
+        generator.writeNumber(employee.version());
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,36 @@
+package com.javaguides.springboot.json;
+
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+@Configuration
+public class JsonConfig {
+
+    // lambda based accessors instead of reflection for the bean serializers of the other response types
+    // (Employee and EmployeeView have their own serializers)
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    // Jackson's read/write buffers are recycled per thread by default, which recycles nothing on virtual threads.
+    // a shared pool reuses them whichever thread serializes the response
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sharedBufferPoolCustomizer() {
+        return builder -> builder.postConfigurer(objectMapper ->
+                objectMapper.getFactory().setRecyclerPool(JsonRecyclerPools.sharedConcurrentDequePool()));
+    }
+
+    // Accept/Content-Type application/x-jackson-smile: the same serializers writing the binary Smile format.
+    // replaces Spring MVC's default Smile converter in its place after the JSON one, so JSON stays the default
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
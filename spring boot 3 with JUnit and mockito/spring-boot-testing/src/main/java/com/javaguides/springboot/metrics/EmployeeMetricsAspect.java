@@ -0,0 +1,62 @@
+package com.javaguides.springboot.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// per-method latency histograms for the service and repository layers
+@Aspect
+public class EmployeeMetricsAspect {
+
+    // registered once per method and outcome, the advice itself only stops a sample
+    private final ConcurrentMap<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+    private MeterRegistry meterRegistry;
+
+    public EmployeeMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("target(com.javaguides.springboot.service.EmployeeService)")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("employee.service", "EmployeeService", joinPoint);
+    }
+
+    @Around("target(com.javaguides.springboot.repository.EmployeeRepository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("employee.repository", "EmployeeRepository", joinPoint);
+    }
+
+    @Around("target(com.javaguides.springboot.repository.EmployeeJdbcRepository)")
+    public Object timeJdbcRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("employee.repository", "EmployeeJdbcRepository", joinPoint);
+    }
+
+    private Object time(String name, String type, ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            sample.stop(timers.computeIfAbsent(new TimerKey(method, exception), key -> Timer.builder(name)
+                    .tag("class", type)
+                    .tag("method", method.getName())
+                    .tag("exception", key.exception())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)));
+        }
+    }
+
+    private record TimerKey(Method method, String exception) {
+    }
+}
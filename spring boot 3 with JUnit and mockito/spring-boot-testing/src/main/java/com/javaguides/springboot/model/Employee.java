@@ -2,6 +2,8 @@ package com.javaguides.springboot.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Setter
 @Getter
@@ -9,9 +11,18 @@ import lombok.*;
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "employees")
+@Table(name = "employees",
+        uniqueConstraints = @UniqueConstraint(name = Employee.UNIQUE_EMAIL, columnNames = "email"),
+        indexes = @Index(name = "idx_employees_last_first", columnList = "last_name, first_name"))
+// only used when employee.l2-cache.enabled=true turns on the Hibernate second-level cache
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Employee.CACHE_REGION)
 public class Employee {
 
+    public static final String UNIQUE_EMAIL = "uk_employees_email";
+    public static final String CACHE_REGION = "employees";
+    public static final String QUERY_CACHE_REGION = "employee-queries";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private long id;
@@ -21,4 +32,7 @@ public class Employee {
     private String lastName;
     @Column(nullable = false)
     private String email;
+    // bumped on every update, also served as the ETag of the employee resource
+    @Version
+    private long version;
 }
@@ -0,0 +1,39 @@
+package com.javaguides.springboot.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+// outbox row written in the same transaction as the employee change, sequence orders all changes.
+// events are thin: consumers fetch the current state with GET /api/employees?ids=...
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "employee_changes",
+        indexes = @Index(name = "idx_employee_changes_published", columnList = "published, sequence"))
+public class EmployeeChange {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long sequence;
+    @Column(name = "employee_id", nullable = false)
+    private long employeeId;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 16)
+    private Type type;
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+    // set by the relay once every EmployeeChangePublisher accepted the change
+    @JsonIgnore
+    @Column(nullable = false)
+    private boolean published;
+}
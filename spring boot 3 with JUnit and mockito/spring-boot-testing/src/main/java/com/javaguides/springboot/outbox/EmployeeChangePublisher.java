@@ -0,0 +1,12 @@
+package com.javaguides.springboot.outbox;
+
+import com.javaguides.springboot.model.EmployeeChange;
+
+import java.util.List;
+
+// destination of the outbox relay. every publisher bean gets every batch in sequence order, delivery is
+// at least once: a publisher that throws makes the relay retry the whole batch on its next run
+public interface EmployeeChangePublisher {
+
+    void publish(List<EmployeeChange> changes);
+}
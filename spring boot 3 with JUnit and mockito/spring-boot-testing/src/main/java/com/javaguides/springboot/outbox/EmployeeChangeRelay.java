@@ -0,0 +1,78 @@
+package com.javaguides.springboot.outbox;
+
+import com.javaguides.springboot.model.EmployeeChange;
+import com.javaguides.springboot.repository.EmployeeChangeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+// moves unpublished outbox rows to the publishers in batches. a batch is marked published in the same
+// transaction that read it, after all publishers accepted it
+@Component
+@ConditionalOnProperty(value = "employee.outbox.relay.enabled", matchIfMissing = true)
+public class EmployeeChangeRelay {
+
+    private EmployeeChangeRepository employeeChangeRepository;
+    private List<EmployeeChangePublisher> publishers;
+    private TransactionTemplate transactionTemplate;
+    private int batchSize;
+    private Duration retention;
+    private Counter publishedChanges;
+
+    public EmployeeChangeRelay(EmployeeChangeRepository employeeChangeRepository,
+                               List<EmployeeChangePublisher> publishers,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${employee.outbox.relay.batch-size:500}") int batchSize,
+                               @Value("${employee.outbox.retention:7d}") Duration retention) {
+        this.employeeChangeRepository = employeeChangeRepository;
+        this.publishers = publishers;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.retention = retention;
+        this.publishedChanges = Counter.builder("employee.outbox.published")
+                .description("Employee changes handed to the publishers by the outbox relay")
+                .register(meterRegistry);
+    }
+
+    // returns the number of changes published, synchronized so that runs in this instance never overlap
+    @Scheduled(fixedDelayString = "${employee.outbox.relay.interval-ms:500}")
+    public synchronized int relay() {
+        int total = 0;
+        int published;
+        do {
+            published = transactionTemplate.execute(status -> relayBatch());
+            total += published;
+        } while (published == batchSize);
+        return total;
+    }
+
+    // published changes older than the retention can't be requested through since anymore. the newest change
+    // stays, the collection version of EmployeeOutbox needs its sequence
+    @Scheduled(fixedDelayString = "${employee.outbox.cleanup-interval-ms:3600000}")
+    public int deleteExpired() {
+        return employeeChangeRepository.deletePublishedBefore(Instant.now().minus(retention),
+                employeeChangeRepository.findMaxSequence());
+    }
+
+    private int relayBatch() {
+        List<EmployeeChange> changes = employeeChangeRepository.findByPublishedFalseOrderBySequenceAsc(PageRequest.of(0, batchSize));
+        if (changes.isEmpty()) {
+            return 0;
+        }
+        publishers.forEach(publisher -> publisher.publish(changes));
+        employeeChangeRepository.markPublished(changes.stream().map(EmployeeChange::getSequence).toList());
+        publishedChanges.increment(changes.size());
+        return changes.size();
+    }
+}
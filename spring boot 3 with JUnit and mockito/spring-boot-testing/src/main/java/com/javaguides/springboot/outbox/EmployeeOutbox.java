@@ -0,0 +1,99 @@
+package com.javaguides.springboot.outbox;
+
+import com.javaguides.springboot.dto.EmployeeChangePage;
+import com.javaguides.springboot.model.EmployeeChange;
+import com.javaguides.springboot.repository.EmployeeChangeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+// change events are inserted with plain JDBC on the connection of the caller's transaction,
+// so they are committed or rolled back together with the employee rows
+@Component
+public class EmployeeOutbox {
+
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private static final String INSERT_SQL = "INSERT INTO employee_changes (employee_id, change_type, occurred_at, published) "
+            + "VALUES (:employeeId, :type, :occurredAt, false)";
+    private static final String MAX_SEQUENCE_SQL = "SELECT COALESCE(MAX(sequence), 0) FROM employee_changes";
+    public static final String VERSION_SQL = "SELECT COALESCE(MAX(sequence), 0), COUNT(*), COALESCE(MIN(sequence), 0) "
+            + "FROM employee_changes";
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private EmployeeChangeRepository employeeChangeRepository;
+    private Duration settleWindow;
+
+    public EmployeeOutbox(NamedParameterJdbcTemplate jdbcTemplate, EmployeeChangeRepository employeeChangeRepository,
+                          @Value("${employee.outbox.settle-window:5s}") Duration settleWindow) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.employeeChangeRepository = employeeChangeRepository;
+        this.settleWindow = settleWindow;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(EmployeeChange.Type type, long employeeId) {
+        recordAll(type, List.of(employeeId));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(EmployeeChange.Type type, Collection<Long> employeeIds) {
+        if (employeeIds.isEmpty()) {
+            return;
+        }
+        Timestamp occurredAt = Timestamp.from(Instant.now());
+        SqlParameterSource[] rows = employeeIds.stream()
+                .map(id -> new MapSqlParameterSource("employeeId", id)
+                        .addValue("type", type.name())
+                        .addValue("occurredAt", occurredAt))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    // sequence of the latest change, where a rebuild of a read model can continue from
+    public long currentSequence() {
+        Long sequence = jdbcTemplate.getJdbcTemplate().queryForObject(MAX_SEQUENCE_SQL, Long.class);
+        return sequence == null ? 0 : sequence;
+    }
+
+    // version of the employee collection, every write through EmployeeService, the import or the reactive service
+    // records its changes here. read from the changes instead of a counter row that every writer would have to lock
+    public String currentVersion() {
+        return jdbcTemplate.getJdbcTemplate().queryForObject(VERSION_SQL,
+                (rs, rowNum) -> version(rs.getLong(1), rs.getLong(2), rs.getLong(3)));
+    }
+
+    // the highest sequence only grows, the cleanup keeps the newest change. a change that commits after one with a
+    // higher sequence still adds to the count, and the cleanup moves the lowest sequence up, so no version repeats
+    public static String version(long maxSequence, long changes, long minSequence) {
+        return maxSequence + "." + changes + "." + minSequence;
+    }
+
+    public EmployeeChangePage findChanges(long since, int limit) {
+        List<EmployeeChange> changes = employeeChangeRepository.findBySequenceGreaterThanOrderBySequenceAsc(since,
+                PageRequest.of(0, Math.max(1, Math.min(limit, MAX_PAGE_SIZE))));
+        // sequences are taken at insert, a change can still commit after one with a higher sequence was read.
+        // nextSince only moves past changes older than the settle window, the newer ones come again with the next
+        // page, so clients should skip sequences they already have
+        Instant settled = Instant.now().minus(settleWindow);
+        long nextSince = since;
+        for (EmployeeChange change : changes) {
+            if (!change.getOccurredAt().isBefore(settled)) {
+                break;
+            }
+            nextSince = change.getSequence();
+        }
+        return new EmployeeChangePage(changes, nextSince);
+    }
+}
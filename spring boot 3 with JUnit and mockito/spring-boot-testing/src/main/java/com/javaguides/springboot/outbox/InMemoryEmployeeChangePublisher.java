@@ -0,0 +1,25 @@
+package com.javaguides.springboot.outbox;
+
+import com.javaguides.springboot.model.EmployeeChange;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// keeps the published changes in memory, register it as a bean in tests to observe the relay
+public class InMemoryEmployeeChangePublisher implements EmployeeChangePublisher {
+
+    private final List<EmployeeChange> changes = new ArrayList<>();
+
+    @Override
+    public synchronized void publish(List<EmployeeChange> batch) {
+        changes.addAll(batch);
+    }
+
+    public synchronized List<EmployeeChange> getChanges() {
+        return List.copyOf(changes);
+    }
+
+    public synchronized void clear() {
+        changes.clear();
+    }
+}
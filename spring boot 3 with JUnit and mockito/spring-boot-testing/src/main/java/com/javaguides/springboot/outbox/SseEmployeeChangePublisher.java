@@ -0,0 +1,132 @@
+package com.javaguides.springboot.outbox;
+
+import com.javaguides.springboot.dto.EmployeeChangePage;
+import com.javaguides.springboot.model.EmployeeChange;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+// pushes changes to the clients of GET /api/employees/changes/stream, the event id is the sequence. every instance
+// tails the outbox for its own clients instead of hanging off the relay, which publishes each change on one
+// instance only
+@Component
+public class SseEmployeeChangePublisher {
+
+    private static final int PAGE_SIZE = 500;
+
+    private final Set<SseEmitter> emitters = ConcurrentHashMap.newKeySet();
+    // sequences after position that were pushed already, findChanges returns them again until they are settled
+    private final Set<Long> pushed = new HashSet<>();
+    private EmployeeOutbox employeeOutbox;
+    private TransactionTemplate transactionTemplate;
+    private long timeoutMillis;
+    private long position = -1;
+
+    public SseEmployeeChangePublisher(EmployeeOutbox employeeOutbox, PlatformTransactionManager transactionManager,
+                                      @Value("${employee.outbox.sse-timeout-ms:1800000}") long timeoutMillis) {
+        this.employeeOutbox = employeeOutbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        emitters.add(emitter);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+        return emitter;
+    }
+
+    // the live feed, starting at the latest change when the instance comes up. clients that need older changes
+    // ask for them with since or Last-Event-ID
+    @Scheduled(fixedDelayString = "${employee.outbox.sse-interval-ms:500}")
+    public synchronized void tail() {
+        if (position < 0) {
+            position = employeeOutbox.currentSequence();
+            return;
+        }
+        position = read(position, changes -> push(changes.stream()
+                .filter(change -> pushed.add(change.getSequence()))
+                .toList()));
+        pushed.removeIf(sequence -> sequence <= position);
+    }
+
+    // the stored changes after since for one client. a change that commits behind them later is committed after
+    // the client subscribed, so the live feed pushes it
+    public void replay(SseEmitter emitter, long since) {
+        try {
+            read(since, changes -> {
+                try {
+                    send(emitter, changes);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException | IllegalStateException e) {
+            // the client went away, it can resume with Last-Event-ID
+            emitter.completeWithError(e);
+        }
+    }
+
+    public static void send(SseEmitter emitter, List<EmployeeChange> changes) throws IOException {
+        for (EmployeeChange change : changes) {
+            emitter.send(SseEmitter.event()
+                    .id(Long.toString(change.getSequence()))
+                    .name("employee-change")
+                    .data(change, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    private void push(List<EmployeeChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            try {
+                send(emitter, changes);
+            } catch (IOException | IllegalStateException e) {
+                // the client went away, it can resume with Last-Event-ID
+                emitters.remove(emitter);
+            }
+        }
+    }
+
+    // every change after since, page by page. returns the nextSince of the pages read, which stays at the last
+    // settled change so that the next read sees a lower sequence that commits late. the pages themselves run on to
+    // the end, each in its own read-write transaction: from the primary, and no connection is held while sending
+    private long read(long since, Consumer<List<EmployeeChange>> consumer) {
+        long nextSince = since;
+        boolean settled = true;
+        long from = since;
+        List<EmployeeChange> changes;
+        do {
+            long pageFrom = from;
+            EmployeeChangePage page = transactionTemplate.execute(status -> employeeOutbox.findChanges(pageFrom, PAGE_SIZE));
+            changes = page.getChanges();
+            if (changes.isEmpty()) {
+                break;
+            }
+            consumer.accept(changes);
+            long last = changes.get(changes.size() - 1).getSequence();
+            if (settled) {
+                nextSince = page.getNextSince();
+                settled = nextSince == last;
+            }
+            from = last;
+        } while (changes.size() == PAGE_SIZE);
+        return nextSince;
+    }
+}
@@ -0,0 +1,59 @@
+package com.javaguides.springboot.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// caps the requests in flight at a limit that adapts to the database (AIMD): ConcurrencyLimitAdjuster shrinks it
+// by backoffRatio while the database is overloaded and grows it by one while requests are using most of it
+public class AdaptiveConcurrencyLimiter {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // highest in flight count since the last adjustment
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private volatile int limit;
+    private int minLimit;
+    private int maxLimit;
+    private double backoffRatio;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                peakInFlight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    // called once per sample interval by a single thread
+    public void adjust(boolean overloaded) {
+        int peak = peakInFlight.getAndSet(inFlight.get());
+        if (overloaded) {
+            limit = Math.max(minLimit, (int) (limit * backoffRatio));
+        } else if (peak * 10 >= limit * 9) {
+            // only grow while the limit is actually reached, an idle service keeps its limit
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
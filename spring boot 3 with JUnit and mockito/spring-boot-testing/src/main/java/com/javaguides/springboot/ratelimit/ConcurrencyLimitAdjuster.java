@@ -0,0 +1,72 @@
+package com.javaguides.springboot.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// samples the average repository call latency (employee.repository) and connection pool wait
+// (hikaricp.connections.acquire) of the last interval and adapts the concurrency limit to them
+public class ConcurrencyLimitAdjuster {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrencyLimitAdjuster.class);
+
+    // full table scans are expected to be slow and say nothing about database load
+    private static final Set<String> LONG_RUNNING_METHODS = Set.of("streamAll", "scanAll");
+
+    private AdaptiveConcurrencyLimiter limiter;
+    private MeterRegistry meterRegistry;
+    private Duration dbLatencyThreshold;
+    private Duration poolWaitThreshold;
+    private Window dbLatency = new Window();
+    private Window poolWait = new Window();
+
+    public ConcurrencyLimitAdjuster(AdaptiveConcurrencyLimiter limiter, MeterRegistry meterRegistry,
+                                    Duration dbLatencyThreshold, Duration poolWaitThreshold) {
+        this.limiter = limiter;
+        this.meterRegistry = meterRegistry;
+        this.dbLatencyThreshold = dbLatencyThreshold;
+        this.poolWaitThreshold = poolWaitThreshold;
+    }
+
+    @Scheduled(fixedDelayString = "${employee.rate-limit.concurrency.sample-interval-ms:1000}")
+    public void adjust() {
+        double latencyMillis = dbLatency.sample(meterRegistry.find("employee.repository").timers().stream()
+                .filter(timer -> !LONG_RUNNING_METHODS.contains(timer.getId().getTag("method")))
+                .toList());
+        double waitMillis = poolWait.sample(meterRegistry.find("hikaricp.connections.acquire").timers());
+        boolean overloaded = latencyMillis > dbLatencyThreshold.toMillis() || waitMillis > poolWaitThreshold.toMillis();
+        int before = limiter.getLimit();
+        limiter.adjust(overloaded);
+        if (overloaded && limiter.getLimit() != before) {
+            LOGGER.info("Database overloaded (latency {} ms, pool wait {} ms), concurrency limit {} -> {}",
+                    String.format("%.1f", latencyMillis), String.format("%.1f", waitMillis), before, limiter.getLimit());
+        }
+    }
+
+    // mean of the calls recorded since the previous sample, timers only expose lifetime totals
+    private static class Window {
+
+        private double totalMillis;
+        private long count;
+
+        double sample(Collection<Timer> timers) {
+            double total = 0;
+            long calls = 0;
+            for (Timer timer : timers) {
+                total += timer.totalTime(TimeUnit.MILLISECONDS);
+                calls += timer.count();
+            }
+            double mean = calls > count ? (total - totalMillis) / (calls - count) : 0;
+            totalMillis = total;
+            count = calls;
+            return mean;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.javaguides.springboot.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnProperty(value = "employee.rate-limit.enabled", matchIfMissing = true)
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    @ConditionalOnProperty(value = "employee.rate-limit.concurrency.enabled", matchIfMissing = true)
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        RateLimitProperties.Concurrency concurrency = properties.getConcurrency();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(concurrency.getInitialLimit(),
+                concurrency.getMinLimit(), concurrency.getMaxLimit(), concurrency.getBackoffRatio());
+        Gauge.builder("employee.rate-limit.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive limit of employee requests in flight")
+                .register(meterRegistry);
+        Gauge.builder("employee.rate-limit.concurrency.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Employee requests in flight")
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "employee.rate-limit.concurrency.enabled", matchIfMissing = true)
+    public ConcurrencyLimitAdjuster concurrencyLimitAdjuster(AdaptiveConcurrencyLimiter limiter,
+                                                             RateLimitProperties properties,
+                                                             MeterRegistry meterRegistry) {
+        return new ConcurrencyLimitAdjuster(limiter, meterRegistry,
+                properties.getConcurrency().getDbLatencyThreshold(), properties.getConcurrency().getPoolWaitThreshold());
+    }
+
+    // runs right after the http.server.requests observation filter, so rejected requests still show up there
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimitProperties properties,
+                                                                   ObjectProvider<AdaptiveConcurrencyLimiter> limiter,
+                                                                   MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RateLimitFilter> registration =
+                new FilterRegistrationBean<>(new RateLimitFilter(properties, limiter.getIfAvailable(), meterRegistry));
+        registration.addUrlPatterns("/api/employees", "/api/employees/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
@@ -0,0 +1,171 @@
+package com.javaguides.springboot.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// admission control in front of the employee endpoints: a client over its token bucket for the endpoint gets 429,
+// a request over the concurrency limit gets 503, both with Retry-After. rejected requests never reach a connection
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String BASE_PATH = "/api/employees";
+    private static final String EVENT_STREAM_PATH = BASE_PATH + "/changes/stream";
+    private static final Pattern ID = Pattern.compile("\\d+");
+    // endpoints with buckets of their own, any other path below /api/employees shares the "other" ones so that
+    // made up paths can't create buckets
+    private static final Set<String> ENDPOINTS = Set.of("batch", "import", "export", "search", "by-name", "stream",
+            "changes", "async");
+
+    private RateLimitProperties properties;
+    private AdaptiveConcurrencyLimiter limiter;
+    private Cache<String, TokenBucket> buckets;
+    private Counter admitted;
+    private Counter rateLimited;
+    private Counter shed;
+
+    public RateLimitFilter(RateLimitProperties properties, AdaptiveConcurrencyLimiter limiter, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.limiter = limiter;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxClients())
+                // an idle bucket is full again after this, dropping it changes nothing
+                .expireAfterAccess(Duration.ofNanos(Stream.concat(Stream.of(properties.getRead(), properties.getWrite()),
+                                properties.getEndpoints().values().stream())
+                        .mapToLong(RateLimitFilter::refillNanos).max().orElse(0)).plusSeconds(1))
+                .build();
+        this.admitted = counter(meterRegistry, "admitted");
+        this.rateLimited = counter(meterRegistry, "rate_limited");
+        this.shed = counter(meterRegistry, "shed");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean read = HttpMethod.GET.matches(request.getMethod());
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String endpoint = endpoint(path);
+        RateLimitProperties.Bucket policy = properties.getEndpoints()
+                .getOrDefault(endpoint, read ? properties.getRead() : properties.getWrite());
+        String key = clientKey(request) + ":" + endpoint + (read ? ":read" : ":write");
+        long now = System.nanoTime();
+        long waitNanos = buckets.get(key, k -> new TokenBucket(policy.getCapacity(), policy.getPerSecond(), now))
+                .tryAcquire(now);
+        if (waitNanos > 0) {
+            rateLimited.increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1));
+            return;
+        }
+        boolean eventStream = EVENT_STREAM_PATH.equals(path);
+        if (limiter != null && !eventStream && !limiter.tryAcquire()) {
+            shed.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1);
+            return;
+        }
+        admitted.increment();
+        // an event stream stays open for a long time but hardly touches the database
+        if (limiter == null || eventStream) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        // async requests hold their slot until the response completes, not just until the servlet thread returns
+        Runnable release = releaseOnce();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingAsyncListener(release));
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String address = request.getRemoteAddr();
+        if (!properties.getTrustedProxies().contains(address)) {
+            return address;
+        }
+        String client = request.getHeader(properties.getClientHeader());
+        return client == null || client.isBlank() ? address : client;
+    }
+
+    // /api/employees -> list, /api/employees/42 -> id, /api/employees/batch -> batch
+    private static String endpoint(String path) {
+        if (!path.startsWith(BASE_PATH + "/")) {
+            return "list";
+        }
+        String rest = path.substring(BASE_PATH.length() + 1);
+        String segment = rest.contains("/") ? rest.substring(0, rest.indexOf('/')) : rest;
+        if (ID.matcher(segment).matches()) {
+            return "id";
+        }
+        return ENDPOINTS.contains(segment) ? segment : "other";
+    }
+
+    private static long refillNanos(RateLimitProperties.Bucket bucket) {
+        return (long) (bucket.getCapacity() / bucket.getPerSecond() * 1_000_000_000L);
+    }
+
+    private Runnable releaseOnce() {
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                limiter.release();
+            }
+        };
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds) {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("employee.rate-limit.requests")
+                .description("Requests to the employee endpoints by admission outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record ReleasingAsyncListener(Runnable release) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.javaguides.springboot.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+// employee.rate-limit.*: token buckets per client and endpoint for reads and writes, and the adaptive concurrency limit
+@Getter
+@Setter
+@ConfigurationProperties("employee.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    // clients are told apart by their address. the header is only taken from the addresses of trusted proxies,
+    // which set it for the clients behind them, anyone else could pick a fresh bucket with every request
+    private String clientHeader = "X-Client-Id";
+    private Set<String> trustedProxies = new HashSet<>();
+    // buckets of clients that stopped sending are dropped, oldest first once there are more than this
+    private long maxClients = 100_000;
+    // GET
+    private Bucket read = new Bucket(200, 100);
+    // POST, PUT, PATCH and DELETE
+    private Bucket write = new Bucket(20, 10);
+    // by endpoint (list, id, batch, import, ...), replaces read and write for every method of that endpoint
+    private Map<String, Bucket> endpoints = new HashMap<>();
+    private Concurrency concurrency = new Concurrency();
+
+    @Getter
+    @Setter
+    public static class Bucket {
+
+        // burst size
+        private int capacity;
+        private double perSecond;
+
+        public Bucket() {
+        }
+
+        public Bucket(int capacity, double perSecond) {
+            this.capacity = capacity;
+            this.perSecond = perSecond;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Concurrency {
+
+        private boolean enabled = true;
+        private int initialLimit = 100;
+        private int minLimit = 10;
+        private int maxLimit = 400;
+        private double backoffRatio = 0.9;
+        // the limit shrinks while the mean repository call or connection wait of the last interval is above these
+        private Duration dbLatencyThreshold = Duration.ofMillis(200);
+        private Duration poolWaitThreshold = Duration.ofMillis(50);
+    }
+}
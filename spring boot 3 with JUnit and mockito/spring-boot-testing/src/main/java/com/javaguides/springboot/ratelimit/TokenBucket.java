@@ -0,0 +1,33 @@
+package com.javaguides.springboot.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// lock-free token bucket in its GCRA form: instead of a token count and a refill time the only state is the
+// time at which the bucket will be full again, advanced by one token interval per admitted request with a CAS
+public class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    public TokenBucket(int capacity, double tokensPerSecond, long nowNanos) {
+        this.nanosPerToken = (long) (1_000_000_000L / tokensPerSecond);
+        this.burstNanos = nanosPerToken * capacity;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    // takes one token and returns 0, or returns the nanos until a token will be available and takes nothing
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + nanosPerToken;
+            long debt = next - nowNanos;
+            if (debt > burstNanos) {
+                return debt - burstNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.javaguides.springboot.reactive;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+// R2DBC mapping of the employees table for the reactive profile, same columns and JSON as the JPA entity Employee.
+// a null id and version mark a new employee, a version of 0 is an existing row that was never updated
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table("employees")
+public class ReactiveEmployee {
+
+    @Id
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    @Version
+    private Long version;
+}
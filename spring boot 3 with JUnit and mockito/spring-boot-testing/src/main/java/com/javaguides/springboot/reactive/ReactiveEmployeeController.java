@@ -0,0 +1,97 @@
+package com.javaguides.springboot.reactive;
+
+import com.javaguides.springboot.controller.EmployeeETags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// create, read, update and delete of /api/employees on WebFlux for the reactive profile, with the same status codes
+// and ETags as EmployeeController. the bulk, import, export, search and change feed endpoints stay servlet only
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/employees")
+public class ReactiveEmployeeController {
+
+    private ReactiveEmployeeService employeeService;
+    private String cacheControl;
+
+    public ReactiveEmployeeController(ReactiveEmployeeService employeeService,
+                                      @Value("${employee.http.cache-control:no-cache}") String cacheControl) {
+        this.employeeService = employeeService;
+        this.cacheControl = cacheControl;
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<ReactiveEmployee> createEmployee(@RequestBody ReactiveEmployee employee) {
+        return employeeService.saveEmployee(employee);
+    }
+
+    // a JSON array, or one line per employee with Accept: application/x-ndjson, written while the rows arrive.
+    // the version is read before the rows so it never runs ahead of them
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<Flux<ReactiveEmployee>>> getAllEmployees(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return employeeService.getEmployeesVersion()
+                .map(version -> ifNoneMatch != null && EmployeeETags.matchesAny(ifNoneMatch, version)
+                        ? cacheable(ResponseEntity.status(HttpStatus.NOT_MODIFIED), version).<Flux<ReactiveEmployee>>build()
+                        : cacheable(ResponseEntity.ok(), version).body(employeeService.getAllEmployees()));
+    }
+
+    @GetMapping("{id}")
+    public Mono<ResponseEntity<ReactiveEmployee>> getEmployeeById(@PathVariable("id") long employeeId,
+                                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return employeeService.getEmployeeById(employeeId)
+                .map(employee -> ifNoneMatch != null && EmployeeETags.matchesAny(ifNoneMatch, employee.getVersion())
+                        ? cacheable(ResponseEntity.status(HttpStatus.NOT_MODIFIED), Long.toString(employee.getVersion())).<ReactiveEmployee>build()
+                        : cacheable(ResponseEntity.ok(), Long.toString(employee.getVersion())).body(employee))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PutMapping("{id}")
+    public Mono<ResponseEntity<ReactiveEmployee>> updateEmployee(@PathVariable("id") long employeeId,
+                                                                 @RequestBody ReactiveEmployee employee,
+                                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = EmployeeETags.parseVersion(ifMatch);
+        return employeeService.getEmployeeById(employeeId)
+                .flatMap(savedEmployee -> {
+                    if (expectedVersion != null && !expectedVersion.equals(savedEmployee.getVersion())) {
+                        return Mono.just(ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).<ReactiveEmployee>build());
+                    }
+                    savedEmployee.setFirstName(employee.getFirstName());
+                    savedEmployee.setLastName(employee.getLastName());
+                    savedEmployee.setEmail(employee.getEmail());
+                    return employeeService.updateEmployee(savedEmployee)
+                            .map(updatedEmployee -> ResponseEntity.ok()
+                                    .eTag(Long.toString(updatedEmployee.getVersion()))
+                                    .body(updatedEmployee));
+                })
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("{id}")
+    public Mono<ResponseEntity<Void>> deleteEmployee(@PathVariable("id") long employeeId) {
+        return employeeService.deleteEmployee(employeeId)
+                .map(deleted -> deleted ? ResponseEntity.noContent().<Void>build() : ResponseEntity.notFound().<Void>build());
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Void> versionConflict() {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+    }
+
+    private ResponseEntity.BodyBuilder cacheable(ResponseEntity.BodyBuilder response, String version) {
+        response.eTag(version);
+        if (!cacheControl.isBlank()) {
+            response.header(HttpHeaders.CACHE_CONTROL, cacheControl);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,6 @@
+package com.javaguides.springboot.reactive;
+
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+
+public interface ReactiveEmployeeRepository extends R2dbcRepository<ReactiveEmployee, Long> {
+}
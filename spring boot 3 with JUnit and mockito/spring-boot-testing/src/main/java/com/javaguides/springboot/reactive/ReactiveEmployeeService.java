@@ -0,0 +1,23 @@
+package com.javaguides.springboot.reactive;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveEmployeeService {
+
+    Mono<ReactiveEmployee> saveEmployee(ReactiveEmployee employee);
+
+    // rows are emitted as the database returns them
+    Flux<ReactiveEmployee> getAllEmployees();
+
+    // changes with every create, update and delete, the ETag of the employee collection
+    Mono<String> getEmployeesVersion();
+
+    Mono<ReactiveEmployee> getEmployeeById(long id);
+
+    // fails with OptimisticLockingFailureException when the row is no longer at the employee's version
+    Mono<ReactiveEmployee> updateEmployee(ReactiveEmployee employee);
+
+    // true when an employee was deleted
+    Mono<Boolean> deleteEmployee(long id);
+}
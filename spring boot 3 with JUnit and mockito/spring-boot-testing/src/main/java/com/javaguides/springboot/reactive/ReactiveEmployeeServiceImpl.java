@@ -0,0 +1,99 @@
+package com.javaguides.springboot.reactive;
+
+import com.javaguides.springboot.exception.ResourceNotFundException;
+import com.javaguides.springboot.model.EmployeeChange;
+import com.javaguides.springboot.outbox.EmployeeOutbox;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+// writes record their change in the outbox table in the same transaction, like EmployeeServiceImpl does,
+// so the change feed, the collection ETag and the search catch-up see them too
+@Service
+@Profile("reactive")
+public class ReactiveEmployeeServiceImpl implements ReactiveEmployeeService {
+
+    // r2dbc-h2 binds strings as CLOB, which H2 won't convert to the change_type enum without the cast
+    private static final String INSERT_CHANGE_SQL = "INSERT INTO employee_changes (employee_id, change_type, occurred_at, published) "
+            + "VALUES (:employeeId, CAST(:type AS CHAR(16)), :occurredAt, false)";
+    private static final String DELETE_SQL = "DELETE FROM employees WHERE id = :id";
+
+    private ReactiveEmployeeRepository employeeRepository;
+    private DatabaseClient databaseClient;
+    private TransactionalOperator transactionalOperator;
+
+    public ReactiveEmployeeServiceImpl(ReactiveEmployeeRepository employeeRepository, DatabaseClient databaseClient) {
+        this.employeeRepository = employeeRepository;
+        this.databaseClient = databaseClient;
+        // not a bean: a second transaction manager next to JPA's would leave @Transactional without a default
+        this.transactionalOperator = TransactionalOperator.create(
+                new R2dbcTransactionManager(databaseClient.getConnectionFactory()));
+    }
+
+    @Override
+    public Mono<ReactiveEmployee> saveEmployee(ReactiveEmployee employee) {
+        // ids and versions are assigned by the database
+        employee.setId(null);
+        employee.setVersion(null);
+        return saveUnique(employee)
+                .flatMap(saved -> record(EmployeeChange.Type.CREATED, saved.getId()).thenReturn(saved))
+                .as(transactionalOperator::transactional);
+    }
+
+    @Override
+    public Flux<ReactiveEmployee> getAllEmployees() {
+        return employeeRepository.findAll();
+    }
+
+    @Override
+    public Mono<String> getEmployeesVersion() {
+        return databaseClient.sql(EmployeeOutbox.VERSION_SQL)
+                .map(row -> EmployeeOutbox.version(row.get(0, Long.class), row.get(1, Long.class), row.get(2, Long.class)))
+                .one();
+    }
+
+    @Override
+    public Mono<ReactiveEmployee> getEmployeeById(long id) {
+        return employeeRepository.findById(id);
+    }
+
+    @Override
+    public Mono<ReactiveEmployee> updateEmployee(ReactiveEmployee employee) {
+        return saveUnique(employee)
+                .flatMap(saved -> record(EmployeeChange.Type.UPDATED, saved.getId()).thenReturn(saved))
+                .as(transactionalOperator::transactional);
+    }
+
+    @Override
+    public Mono<Boolean> deleteEmployee(long id) {
+        return databaseClient.sql(DELETE_SQL)
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated()
+                .flatMap(deleted -> deleted > 0
+                        ? record(EmployeeChange.Type.DELETED, id).thenReturn(true)
+                        : Mono.just(false))
+                .as(transactionalOperator::transactional);
+    }
+
+    private Mono<ReactiveEmployee> saveUnique(ReactiveEmployee employee) {
+        return employeeRepository.save(employee)
+                .onErrorMap(DuplicateKeyException.class,
+                        e -> new ResourceNotFundException("Employee already exist with given email: " + employee.getEmail(), e));
+    }
+
+    private Mono<Void> record(EmployeeChange.Type type, long employeeId) {
+        return databaseClient.sql(INSERT_CHANGE_SQL)
+                .bind("employeeId", employeeId)
+                .bind("type", type.name())
+                .bind("occurredAt", Instant.now())
+                .then();
+    }
+}
@@ -0,0 +1,37 @@
+package com.javaguides.springboot.repository;
+
+import com.javaguides.springboot.model.EmployeeChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface EmployeeChangeRepository extends JpaRepository<EmployeeChange, Long> {
+
+    // incremental feed: changes after the given sequence, oldest first
+    List<EmployeeChange> findBySequenceGreaterThanOrderBySequenceAsc(long sequence, Pageable pageable);
+
+    // next batch for the relay, served by the (published, sequence) index
+    List<EmployeeChange> findByPublishedFalseOrderBySequenceAsc(Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmployeeChange c SET c.published = true WHERE c.sequence IN :sequences")
+    int markPublished(@Param("sequences") Collection<Long> sequences);
+
+    @Query("SELECT COALESCE(MAX(c.sequence), 0) FROM EmployeeChange c")
+    long findMaxSequence();
+
+    // changes at or after the given sequence are kept, MySQL can't select from the table a DELETE removes from
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM EmployeeChange c WHERE c.published = true AND c.occurredAt < :cutoff AND c.sequence < :sequence")
+    int deletePublishedBefore(@Param("cutoff") Instant cutoff, @Param("sequence") long sequence);
+}
@@ -0,0 +1,248 @@
+package com.javaguides.springboot.repository;
+
+import com.javaguides.springboot.model.Employee;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// plain JDBC batching for bulk writes, Hibernate can't batch inserts of IDENTITY ids
+@Repository
+public class EmployeeJdbcRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO employees (first_name, last_name, email, version) VALUES (?, ?, ?, 0)";
+    private static final String UPDATE_SQL = "UPDATE employees SET first_name = ?, last_name = ?, email = ?, version = version + 1 WHERE id = ?";
+    private static final String DELETE_SQL = "DELETE FROM employees WHERE id = ?";
+    private static final String SELECT_IDS_BY_EMAIL_SQL = "SELECT id, email FROM employees WHERE email IN (:emails)";
+    private static final String SELECT_IDS_SQL = "SELECT id FROM employees WHERE id IN (:ids)";
+    private static final String LOCK_IDS_SQL = SELECT_IDS_SQL + " FOR UPDATE";
+    // keyset over the primary key, so a purge reads past every row once however many chunks it takes. the rows stay
+    // locked until the chunk is deleted, an employee can't move out of the domain in between
+    private static final String LOCK_IDS_BY_EMAIL_DOMAIN_SQL = "SELECT id FROM employees WHERE id > :afterId AND email LIKE :pattern "
+            + "ORDER BY id LIMIT :limit FOR UPDATE";
+    private static final String SELECT_ALL_SQL = "SELECT id, first_name, last_name, email FROM employees ORDER BY id";
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private EntityManagerFactory entityManagerFactory;
+    private int batchSize;
+    private int fetchSize;
+
+    public EmployeeJdbcRepository(NamedParameterJdbcTemplate jdbcTemplate,
+                                  EntityManagerFactory entityManagerFactory,
+                                  @Value("${employee.batch.size:500}") int batchSize,
+                                  @Value("${employee.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.batchSize = batchSize;
+        this.fetchSize = fetchSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    // email -> id of the employees already using one of the given emails, one IN query per batch
+    public Map<String, Long> findIdsByEmail(Collection<String> emails) {
+        Map<String, Long> idsByEmail = new HashMap<>();
+        for (List<String> chunk : chunks(new ArrayList<>(emails))) {
+            jdbcTemplate.query(SELECT_IDS_BY_EMAIL_SQL, Map.of("emails", chunk),
+                    (RowCallbackHandler) rs -> idsByEmail.put(rs.getString("email"), rs.getLong("id")));
+        }
+        return idsByEmail;
+    }
+
+    // forward-only, read-only scan of the whole table in id order. rows reach the handler while the query runs,
+    // fetchSize at a time (a server-side cursor on MySQL with useCursorFetch=true)
+    public void scanAll(RowCallbackHandler handler) {
+        jdbcTemplate.getJdbcTemplate().query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SELECT_ALL_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            return ps;
+        }, handler);
+    }
+
+    // inserts in batches and sets the generated id on every employee
+    public void insertAll(List<Employee> employees) {
+        jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (List<Employee> chunk : chunks(employees)) {
+                    for (Employee employee : chunk) {
+                        ps.setString(1, employee.getFirstName());
+                        ps.setString(2, employee.getLastName());
+                        ps.setString(3, employee.getEmail());
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        for (Employee employee : chunk) {
+                            keys.next();
+                            employee.setId(keys.getLong(1));
+                        }
+                    }
+                }
+            }
+            return null;
+        });
+        evictSecondLevelCache(List.of());
+    }
+
+    // single UPDATE of the non-null fields of changes, expectedVersion null skips the version check.
+    // returns the number of updated rows, 0 when the id is unknown or the version didn't match
+    public int patch(long id, Employee changes, Long expectedVersion) {
+        StringBuilder sql = new StringBuilder("UPDATE employees SET ");
+        MapSqlParameterSource params = new MapSqlParameterSource("id", id);
+        if (changes.getFirstName() != null) {
+            sql.append("first_name = :firstName, ");
+            params.addValue("firstName", changes.getFirstName());
+        }
+        if (changes.getLastName() != null) {
+            sql.append("last_name = :lastName, ");
+            params.addValue("lastName", changes.getLastName());
+        }
+        if (changes.getEmail() != null) {
+            sql.append("email = :email, ");
+            params.addValue("email", changes.getEmail());
+        }
+        sql.append("version = version + 1 WHERE id = :id");
+        if (expectedVersion != null) {
+            sql.append(" AND version = :version");
+            params.addValue("version", expectedVersion);
+        }
+        int updated = jdbcTemplate.update(sql.toString(), params);
+        evictSecondLevelCache(List.of(id));
+        return updated;
+    }
+
+    // returns one update count per employee, in request order
+    public int[] updateAll(List<Employee> employees) {
+        int[][] counts = jdbcTemplate.getJdbcTemplate().batchUpdate(UPDATE_SQL, employees, batchSize, (ps, employee) -> {
+            ps.setString(1, employee.getFirstName());
+            ps.setString(2, employee.getLastName());
+            ps.setString(3, employee.getEmail());
+            ps.setLong(4, employee.getId());
+        });
+        List<Long> ids = employees.stream().map(Employee::getId).toList();
+        evictSecondLevelCache(ids);
+        return knownCounts(flatten(counts, employees.size()), ids);
+    }
+
+    // one DELETE without loading the employee first, returns the number of deleted rows
+    public int deleteById(long id) {
+        int deleted = jdbcTemplate.getJdbcTemplate().update(DELETE_SQL, id);
+        evictSecondLevelCache(List.of(id));
+        return deleted;
+    }
+
+    // up to limit ids after afterId of employees with an email at the domain, in id order and locked for the
+    // current transaction. the domain must not contain LIKE wildcards
+    public List<Long> lockIdsByEmailDomain(String domain, long afterId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource("afterId", afterId)
+                .addValue("pattern", "%@" + domain)
+                .addValue("limit", limit);
+        return jdbcTemplate.queryForList(LOCK_IDS_BY_EMAIL_DOMAIN_SQL, params, Long.class);
+    }
+
+    // returns one delete count per id, in request order, a repeated id counts once. the existing ids are looked up
+    // and locked first and only those are deleted: a driver that rewrites the batch (MySQL rewriteBatchedStatements)
+    // reports SUCCESS_NO_INFO per row, and after the delete there is nothing left to look up
+    public int[] deleteAllById(List<Long> ids) {
+        Set<Long> existing = findIds(LOCK_IDS_SQL, ids);
+        jdbcTemplate.getJdbcTemplate().batchUpdate(DELETE_SQL, List.copyOf(existing), batchSize,
+                (ps, id) -> ps.setLong(1, id));
+        evictSecondLevelCache(ids);
+        int[] counts = new int[ids.size()];
+        for (int i = 0; i < ids.size(); i++) {
+            counts[i] = existing.remove(ids.get(i)) ? 1 : 0;
+        }
+        return counts;
+    }
+
+    // update counts with SUCCESS_NO_INFO (a rewritten batch) replaced by whether the employee exists. the UPDATE
+    // matched every existing row and holds its lock until commit, so it is still there and was updated
+    int[] knownCounts(int[] counts, List<Long> ids) {
+        List<Long> unknown = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                unknown.add(ids.get(i));
+            }
+        }
+        if (unknown.isEmpty()) {
+            return counts;
+        }
+        Set<Long> existing = findIds(SELECT_IDS_SQL, unknown);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                counts[i] = existing.contains(ids.get(i)) ? 1 : 0;
+            }
+        }
+        return counts;
+    }
+
+    // these writes bypass Hibernate, so its second-level cache (when enabled) has to be told: the written employees
+    // and every cached employee query are evicted now and again after the transaction completes, so that a read
+    // racing the commit can't put the old state back for good
+    private void evictSecondLevelCache(List<Long> ids) {
+        evict(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(ids);
+                }
+            });
+        }
+    }
+
+    private void evict(List<Long> ids) {
+        Cache cache = entityManagerFactory.getCache();
+        ids.forEach(id -> cache.evict(Employee.class, id));
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegion(Employee.QUERY_CACHE_REGION);
+    }
+
+    // the given ids that exist, one IN query per batch
+    private Set<Long> findIds(String sql, Collection<Long> ids) {
+        Set<Long> found = new LinkedHashSet<>();
+        for (List<Long> chunk : chunks(List.copyOf(new LinkedHashSet<>(ids)))) {
+            found.addAll(jdbcTemplate.queryForList(sql, Map.of("ids", chunk), Long.class));
+        }
+        return found;
+    }
+
+    private <T> List<List<T>> chunks(List<T> items) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int start = 0; start < items.size(); start += batchSize) {
+            chunks.add(items.subList(start, Math.min(start + batchSize, items.size())));
+        }
+        return chunks;
+    }
+
+    private static int[] flatten(int[][] counts, int size) {
+        int[] result = new int[size];
+        int i = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                result[i++] = count;
+            }
+        }
+        return result;
+    }
+}
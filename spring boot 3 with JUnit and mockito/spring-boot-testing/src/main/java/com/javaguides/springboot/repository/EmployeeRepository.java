@@ -1,21 +1,45 @@
 package com.javaguides.springboot.repository;
 
+import com.javaguides.springboot.dto.EmployeeSummary;
+import com.javaguides.springboot.dto.EmployeeView;
 import com.javaguides.springboot.model.Employee;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_FLUSH_MODE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+// query methods run in read-only transactions (served by a replica when routing is configured),
+// the inherited save and delete methods keep their read-write transactions
+@Transactional(readOnly = true)
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
 
+    // the lookups below go through the query cache when the second-level cache is enabled.
+    // writes through JPA invalidate it, EmployeeJdbcRepository evicts it for its own writes
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = Employee.QUERY_CACHE_REGION)})
     Optional<Employee> findByEmail(String email);
 
     // define custom query using JPQL with index params
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = Employee.QUERY_CACHE_REGION)})
     @Query("SELECT e FROM Employee e WHERE e.firstName=?1 and e.lastName=?2")
     Employee findByJPQL(String firstName, String lastName);
 
     // define custom query using JPQL with named params
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = Employee.QUERY_CACHE_REGION)})
     @Query("SELECT e FROM Employee e WHERE e.firstName=:firstName and e.lastName=:lastName")
     Employee findByJPQLNamedParams(@Param("firstName") String firstName, @Param("lastName") String lastName);
 
@@ -27,5 +51,46 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     @Query(nativeQuery = true, value = "SELECT * FROM employees e WHERE e.first_name=:firstName and e.last_name=:lastName")
     Employee findByNativeSQLNamedParams(@Param("firstName") String firstName, @Param("lastName") String lastName);
 
+    // prefix search backed by the (last_name, first_name) index, returns summaries instead of managed entities
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = Employee.QUERY_CACHE_REGION)})
+    Slice<EmployeeSummary> findByLastNameStartingWithAndFirstNameStartingWith(String lastName, String firstName, Pageable pageable);
+
+    // just the version column, enough to answer a conditional GET
+    @Query("SELECT e.version FROM Employee e WHERE e.id = :id")
+    Optional<Long> findVersionById(@Param("id") long id);
+
+    // keyset pagination: next employees after the given id, page size comes from the pageable
+    List<Employee> findByIdGreaterThanOrderByIdAsc(long id, Pageable pageable);
+
+    // read model for the GET endpoints: constructor expressions select straight into EmployeeView, nothing enters
+    // the persistence context. no auto-flush either, should a caller's read-write transaction have pending changes.
+    // by id and IN lookups and pages go through the query cache like the lookups above, the whole list doesn't:
+    // it would be a single entry holding every employee
+    String EMPLOYEE_VIEW = "SELECT new com.javaguides.springboot.dto.EmployeeView(e.id, e.firstName, e.lastName, e.email, e.version) FROM Employee e";
+
+    @QueryHints({@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"), @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = Employee.QUERY_CACHE_REGION)})
+    @Query(EMPLOYEE_VIEW + " WHERE e.id = :id")
+    Optional<EmployeeView> findViewById(@Param("id") long id);
+
+    @QueryHints({@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"), @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = Employee.QUERY_CACHE_REGION)})
+    @Query(EMPLOYEE_VIEW + " WHERE e.id IN :ids")
+    List<EmployeeView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query(EMPLOYEE_VIEW + " ORDER BY e.id")
+    List<EmployeeView> findAllViews();
+
+    // keyset pagination over the read model, page size comes from the pageable
+    @QueryHints({@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"), @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = Employee.QUERY_CACHE_REGION)})
+    @Query(EMPLOYEE_VIEW + " WHERE e.id > :id ORDER BY e.id")
+    List<EmployeeView> findViewsByIdGreaterThan(@Param("id") long id, Pageable pageable);
+
+    // forward-only scan of the whole table, must be consumed inside a transaction and closed
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT e FROM Employee e ORDER BY e.id")
+    Stream<Employee> streamAll();
 
 }
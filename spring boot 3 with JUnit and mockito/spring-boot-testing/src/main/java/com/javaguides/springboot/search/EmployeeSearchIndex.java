@@ -0,0 +1,197 @@
+package com.javaguides.springboot.search;
+
+import com.javaguides.springboot.dto.EmployeeChangePage;
+import com.javaguides.springboot.dto.EmployeeSummary;
+import com.javaguides.springboot.model.Employee;
+import com.javaguides.springboot.model.EmployeeChange;
+import com.javaguides.springboot.outbox.EmployeeOutbox;
+import com.javaguides.springboot.repository.EmployeeJdbcRepository;
+import com.javaguides.springboot.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+// in-process full-text search over all employees. the index is built from a streamed table scan once the
+// application is ready, EmployeeService hands in its own writes after they commit, and the catch-up reads the
+// outbox from the last sequence seen so that imports and writes of other instances arrive within an interval
+@Component
+public class EmployeeSearchIndex {
+
+    static final int MAX_RESULTS = 100;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeSearchIndex.class);
+    private static final int CATCH_UP_BATCH = 1000;
+    // outbox sequences are taken at insert but become visible at commit, so a change is read again for a while
+    // in case an older sequence shows up late behind it
+    private static final Duration CATCH_UP_OVERLAP = Duration.ofSeconds(5);
+
+    private EmployeeJdbcRepository employeeJdbcRepository;
+    private EmployeeRepository employeeRepository;
+    private EmployeeOutbox employeeOutbox;
+    private TransactionTemplate transactionTemplate;
+    private ReadWriteLock lock = new ReentrantReadWriteLock();
+    private TrigramIndex index = new TrigramIndex();
+    private volatile boolean ready;
+    private long lastSequence;
+
+    public EmployeeSearchIndex(EmployeeJdbcRepository employeeJdbcRepository,
+                               EmployeeRepository employeeRepository,
+                               EmployeeOutbox employeeOutbox,
+                               PlatformTransactionManager transactionManager) {
+        this.employeeJdbcRepository = employeeJdbcRepository;
+        this.employeeRepository = employeeRepository;
+        this.employeeOutbox = employeeOutbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // empty until the first build has finished
+    public Optional<List<EmployeeSummary>> search(String query, int limit) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            return Optional.of(index.search(query, Math.max(1, Math.min(limit, MAX_RESULTS))));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // runs before the application reports ready to take traffic
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+        // changes committed while the table is scanned are replayed by the next catch-up
+        long sequence = employeeOutbox.currentSequence();
+        TrigramIndex rebuilt = new TrigramIndex();
+        employeeJdbcRepository.scanAll(rs -> rebuilt.put(rs.getLong("id"), rs.getString("first_name"),
+                rs.getString("last_name"), rs.getString("email")));
+        update(current -> index = rebuilt);
+        lastSequence = sequence;
+        ready = true;
+        LOGGER.info("Indexed {} employees for search in {} ms", rebuilt.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    // read-write transaction so that the changes and employees come from the primary, not a lagging replica
+    @Scheduled(fixedDelayString = "${employee.search.catch-up-interval-ms:1000}")
+    public synchronized void catchUp() {
+        if (!ready) {
+            return;
+        }
+        Instant settled = Instant.now().minus(CATCH_UP_OVERLAP);
+        transactionTemplate.executeWithoutResult(status -> {
+            long since = lastSequence;
+            boolean advance = true;
+            EmployeeChangePage page;
+            do {
+                page = employeeOutbox.findChanges(since, CATCH_UP_BATCH);
+                Set<Long> ids = new LinkedHashSet<>();
+                for (EmployeeChange change : page.getChanges()) {
+                    ids.add(change.getEmployeeId());
+                    advance = advance && change.getOccurredAt().isBefore(settled);
+                    if (advance) {
+                        lastSequence = change.getSequence();
+                    }
+                }
+                reindex(ids);
+                // the next page starts after this one, nextSince holds back at unsettled changes
+                since = page.getChanges().isEmpty() ? since : page.getChanges().get(page.getChanges().size() - 1).getSequence();
+            } while (page.getChanges().size() == CATCH_UP_BATCH);
+        });
+    }
+
+    public void indexAfterCommit(Collection<Employee> employees) {
+        List<Employee> copies = employees.stream()
+                .map(employee -> Employee.builder().id(employee.getId()).firstName(employee.getFirstName())
+                        .lastName(employee.getLastName()).email(employee.getEmail()).build())
+                .toList();
+        afterCommit(index -> copies.forEach(employee -> index.put(employee.getId(), employee.getFirstName(),
+                employee.getLastName(), employee.getEmail())));
+    }
+
+    // only the non-null fields of changes are replaced
+    public void patchAfterCommit(long id, Employee changes) {
+        String firstName = changes.getFirstName();
+        String lastName = changes.getLastName();
+        String email = changes.getEmail();
+        afterCommit(index -> index.patch(id, firstName, lastName, email));
+    }
+
+    public void removeAfterCommit(Collection<Long> ids) {
+        List<Long> copy = List.copyOf(ids);
+        afterCommit(index -> copy.forEach(index::remove));
+    }
+
+    private void reindex(Set<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Map<Long, Employee> employees = new HashMap<>();
+        employeeRepository.findAllById(ids).forEach(employee -> employees.put(employee.getId(), employee));
+        update(index -> ids.forEach(id -> {
+            Employee employee = employees.get(id);
+            if (employee == null) {
+                index.remove(id);
+            } else {
+                index.put(id, employee.getFirstName(), employee.getLastName(), employee.getEmail());
+            }
+        }));
+    }
+
+    // a rolled back write never reaches the index
+    private void afterCommit(Consumer<TrigramIndex> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update(change);
+                }
+            });
+        } else {
+            update(change);
+        }
+    }
+
+    private void update(Consumer<TrigramIndex> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (index.needsCompaction()) {
+                index = index.compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.javaguides.springboot.search;
+
+import com.javaguides.springboot.dto.EmployeeSummary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+// inverted index from trigrams to employees, over the tokens (runs of letters and digits) of firstName, lastName
+// and email. every token is indexed with two start markers in front and an end marker behind, so its one and two
+// character prefixes are grams and whole tokens can be looked up: terms of three or more characters match anywhere
+// in a token, shorter ones match token prefixes. employees get ascending document numbers so posting lists stay
+// sorted by appending. put and remove only mark the old document deleted, compact() rebuilds without them.
+// not thread-safe, EmployeeSearchIndex guards it
+public class TrigramIndex {
+
+    private static final char START = '\u0001';
+    private static final char END = '\u0002';
+
+    // a term matching a whole token beats a token prefix, which beats a match inside a token
+    private static final int TOKEN_MATCH = 3;
+    private static final int PREFIX_MATCH = 2;
+    private static final int INFIX_MATCH = 1;
+    private static final int NAME_WEIGHT = 2;
+
+    // equal scores keep index order, which lets a scan in document order stop as soon as the top can't change
+    private static final Comparator<Hit> BEST_FIRST = Comparator.comparingInt(Hit::score).reversed()
+            .thenComparingInt(Hit::document);
+
+    private long[] ids = new long[1024];
+    private String[] firstNames = new String[1024];
+    private String[] lastNames = new String[1024];
+    private String[] emails = new String[1024];
+    private BitSet deleted = new BitSet();
+    private int documents;
+    private Map<Long, Integer> documentsById = new HashMap<>();
+    private Map<Long, Postings> postings = new HashMap<>();
+
+    public void put(long id, String firstName, String lastName, String email) {
+        remove(id);
+        if (documents == ids.length) {
+            int capacity = documents + (documents >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            firstNames = Arrays.copyOf(firstNames, capacity);
+            lastNames = Arrays.copyOf(lastNames, capacity);
+            emails = Arrays.copyOf(emails, capacity);
+        }
+        int document = documents++;
+        ids[document] = id;
+        firstNames[document] = firstName == null ? "" : firstName;
+        lastNames[document] = lastName == null ? "" : lastName;
+        emails[document] = email == null ? "" : email;
+        documentsById.put(id, document);
+        addGrams(document, firstNames[document]);
+        addGrams(document, lastNames[document]);
+        addGrams(document, emails[document]);
+    }
+
+    // replaces only the non-null fields, false when the employee isn't indexed
+    public boolean patch(long id, String firstName, String lastName, String email) {
+        Integer document = documentsById.get(id);
+        if (document == null) {
+            return false;
+        }
+        put(id, firstName != null ? firstName : firstNames[document],
+                lastName != null ? lastName : lastNames[document],
+                email != null ? email : emails[document]);
+        return true;
+    }
+
+    public boolean remove(long id) {
+        Integer document = documentsById.remove(id);
+        if (document == null) {
+            return false;
+        }
+        deleted.set(document);
+        firstNames[document] = null;
+        lastNames[document] = null;
+        emails[document] = null;
+        return true;
+    }
+
+    public int size() {
+        return documentsById.size();
+    }
+
+    // once most document numbers are deleted, scanning their postings costs more than a rebuild
+    public boolean needsCompaction() {
+        int deletedDocuments = documents - documentsById.size();
+        return deletedDocuments > 1024 && deletedDocuments > documentsById.size();
+    }
+
+    public TrigramIndex compact() {
+        TrigramIndex compacted = new TrigramIndex();
+        for (int document = 0; document < documents; document++) {
+            if (!deleted.get(document)) {
+                compacted.put(ids[document], firstNames[document], lastNames[document], emails[document]);
+            }
+        }
+        return compacted;
+    }
+
+    // employees containing every term of the query, best matches first
+    public List<EmployeeSummary> search(String query, int limit) {
+        List<String> terms = tokens(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+        if (terms.size() == 1) {
+            // one term is looked up as a whole token first, then as a prefix, then inside tokens. the later passes
+            // skip what an earlier one saw and none runs once the top can't get better
+            String term = terms.get(0);
+            for (int level = TOKEN_MATCH; level >= (term.length() >= 3 ? INFIX_MATCH : PREFIX_MATCH); level--) {
+                if (top.size() == limit && top.peek().score() > NAME_WEIGHT * level) {
+                    break;
+                }
+                if (collect(List.of(grams(term, level)), terms, level, limit, top)) {
+                    break;
+                }
+            }
+        } else {
+            List<long[]> grams = new ArrayList<>();
+            for (String term : terms) {
+                grams.add(grams(term, term.length() >= 3 ? INFIX_MATCH : PREFIX_MATCH));
+            }
+            collect(grams, terms, 0, limit, top);
+        }
+
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(BEST_FIRST);
+        return hits.stream()
+                .map(hit -> new EmployeeSummary(hit.id(), firstNames[hit.document()], lastNames[hit.document()],
+                        emails[hit.document()]))
+                .toList();
+    }
+
+    // scores the documents having all the grams into top. with a level (single term), only documents matching at
+    // exactly that level count and the scan stops early, returning true, once no later document could enter the top
+    private boolean collect(List<long[]> grams, List<String> terms, int level, int limit, PriorityQueue<Hit> top) {
+        List<Postings> lists = new ArrayList<>();
+        for (long[] termGrams : grams) {
+            for (long gram : termGrams) {
+                Postings list = postings.get(gram);
+                if (list == null) {
+                    return false;
+                }
+                lists.add(list);
+            }
+        }
+        // walk the rarest gram and look the candidates up in the others, trigrams only narrow the candidates down,
+        // score() checks the terms themselves
+        lists.sort(Comparator.comparingInt(list -> list.size));
+        Postings rarest = lists.get(0);
+        int[] positions = new int[lists.size()];
+        candidates:
+        for (int i = 0; i < rarest.size; i++) {
+            int document = rarest.documents[i];
+            if (deleted.get(document)) {
+                continue;
+            }
+            for (int list = 1; list < lists.size(); list++) {
+                positions[list] = lists.get(list).seek(document, positions[list]);
+                if (positions[list] == lists.get(list).size || lists.get(list).documents[positions[list]] != document) {
+                    continue candidates;
+                }
+            }
+            // grams of different tokens can add up to a level the document doesn't have, it is scored in its own pass
+            if (level > 0 && bestMatch(document, terms.get(0)) != level) {
+                continue;
+            }
+            int score = score(document, terms);
+            if (score == 0) {
+                continue;
+            }
+            Hit hit = new Hit(score, document, ids[document]);
+            if (top.size() < limit) {
+                top.add(hit);
+            } else if (BEST_FIRST.compare(hit, top.peek()) < 0) {
+                top.poll();
+                top.add(hit);
+            }
+            if (level > 0 && top.size() == limit && top.peek().score() >= NAME_WEIGHT * level) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int bestMatch(int document, String term) {
+        return Math.max(Math.max(match(firstNames[document], term), match(lastNames[document], term)),
+                match(emails[document], term));
+    }
+
+    private int score(int document, List<String> terms) {
+        int total = 0;
+        for (String term : terms) {
+            int best = Math.max(NAME_WEIGHT * match(firstNames[document], term), NAME_WEIGHT * match(lastNames[document], term));
+            best = Math.max(best, match(emails[document], term));
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    // best match of the lower case term against the tokens of the field, 0 when none
+    static int match(String field, String term) {
+        int best = 0;
+        int start = 0;
+        while (start < field.length()) {
+            if (!Character.isLetterOrDigit(field.charAt(start))) {
+                start++;
+                continue;
+            }
+            int end = start;
+            while (end < field.length() && Character.isLetterOrDigit(field.charAt(end))) {
+                end++;
+            }
+            if (end - start >= term.length()) {
+                if (field.regionMatches(true, start, term, 0, term.length())) {
+                    if (end - start == term.length()) {
+                        return TOKEN_MATCH;
+                    }
+                    best = PREFIX_MATCH;
+                } else if (best == 0 && term.length() >= 3) {
+                    for (int from = start + 1; from <= end - term.length(); from++) {
+                        if (field.regionMatches(true, from, term, 0, term.length())) {
+                            best = INFIX_MATCH;
+                            break;
+                        }
+                    }
+                }
+            }
+            start = end;
+        }
+        return best;
+    }
+
+    private void addGrams(int document, String field) {
+        char first = START;
+        char second = START;
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                if (second != START) {
+                    add(gram(first, second, END), document);
+                }
+                first = START;
+                second = START;
+                continue;
+            }
+            char third = Character.toLowerCase(c);
+            add(gram(first, second, third), document);
+            first = second;
+            second = third;
+        }
+        if (second != START) {
+            add(gram(first, second, END), document);
+        }
+    }
+
+    private void add(long gram, int document) {
+        postings.computeIfAbsent(gram, key -> new Postings()).add(document);
+    }
+
+    // grams a token needs to match the term at the level: the term padded with the start markers (and the end
+    // marker for a whole token), or only its inner trigrams for a match anywhere in a token
+    private static long[] grams(String term, int level) {
+        String padded = switch (level) {
+            case TOKEN_MATCH -> "" + START + START + term + END;
+            case PREFIX_MATCH -> "" + START + START + term;
+            default -> term;
+        };
+        long[] grams = new long[padded.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = gram(padded.charAt(i), padded.charAt(i + 1), padded.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            if (i < text.length() && Character.isLetterOrDigit(text.charAt(i))) {
+                token.append(Character.toLowerCase(text.charAt(i)));
+            } else if (!token.isEmpty()) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+        return tokens;
+    }
+
+    private static long gram(char first, char second, char third) {
+        return ((long) first << 32) | ((long) second << 16) | third;
+    }
+
+    private record Hit(int score, int document, long id) {
+    }
+
+    // sorted document numbers of one gram
+    private static final class Postings {
+
+        private int[] documents = new int[4];
+        private int size;
+
+        void add(int document) {
+            // a gram repeated within the same employee is only listed once
+            if (size > 0 && documents[size - 1] == document) {
+                return;
+            }
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size + (size >> 1) + 1);
+            }
+            documents[size++] = document;
+        }
+
+        // position of the first document >= target at or after from: galloping, then binary search
+        int seek(int target, int from) {
+            int step = 1;
+            int low = from;
+            int high = from;
+            while (high < size && documents[high] < target) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            high = Math.min(high, size);
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (documents[middle] < target) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
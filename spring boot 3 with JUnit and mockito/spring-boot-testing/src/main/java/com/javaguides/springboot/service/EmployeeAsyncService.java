@@ -0,0 +1,19 @@
+package com.javaguides.springboot.service;
+
+import com.javaguides.springboot.dto.EmployeeView;
+import com.javaguides.springboot.model.Employee;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+// non-blocking variant of EmployeeService, futures fail with RejectedExecutionException when the executor is saturated
+public interface EmployeeAsyncService {
+
+    CompletableFuture<Optional<EmployeeView>> getEmployeeById(long id);
+
+    CompletableFuture<List<EmployeeView>> getEmployeesByIds(Collection<Long> ids);
+
+    CompletableFuture<Employee> saveEmployee(Employee employee);
+}
@@ -0,0 +1,77 @@
+package com.javaguides.springboot.service;
+
+import com.javaguides.springboot.dto.EmployeeView;
+import com.javaguides.springboot.model.Employee;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// runs EmployeeService calls on a dedicated bounded pool so callers never queue behind the servlet or common pools.
+// the executor is owned here rather than exposed as a bean, an Executor bean would replace boot's applicationTaskExecutor
+@Service
+public class EmployeeAsyncServiceImpl implements EmployeeAsyncService {
+
+    private EmployeeService employeeService;
+    private ThreadPoolExecutor executor;
+    private Counter rejected;
+
+    public EmployeeAsyncServiceImpl(EmployeeService employeeService,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${employee.async.pool-size:16}") int poolSize,
+                                    @Value("${employee.async.queue-capacity:1000}") int queueCapacity) {
+        this.employeeService = employeeService;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("employee-async-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.rejected = Counter.builder("employee.async.rejected")
+                .description("Employee lookups rejected because the async executor queue was full")
+                .register(meterRegistry);
+        new ExecutorServiceMetrics(executor, "employee.async", Collections.emptyList()).bindTo(meterRegistry);
+    }
+
+    @Override
+    public CompletableFuture<Optional<EmployeeView>> getEmployeeById(long id) {
+        return submit(() -> employeeService.getEmployeeViewById(id));
+    }
+
+    @Override
+    public CompletableFuture<List<EmployeeView>> getEmployeesByIds(Collection<Long> ids) {
+        return submit(() -> employeeService.getEmployeesByIds(ids));
+    }
+
+    @Override
+    public CompletableFuture<Employee> saveEmployee(Employee employee) {
+        return submit(() -> employeeService.saveEmployee(employee));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // a full queue fails the future right away instead of blocking the caller (backpressure)
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.javaguides.springboot.service;
+
+import com.javaguides.springboot.model.Employee;
+import com.javaguides.springboot.repository.EmployeeRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// coalesces concurrent findById calls into one findAllById (DataLoader style).
+// the first caller of a batch waits for the window and then runs the IN query for everybody that joined,
+// a batch reaching max-size is run right away by the caller that filled it
+@Component
+public class EmployeeBatchLoader {
+
+    private EmployeeRepository employeeRepository;
+    private boolean enabled;
+    private long windowNanos;
+    private int maxBatchSize;
+    private DistributionSummary batchSizes;
+
+    private Batch current; // guarded by this
+
+    public EmployeeBatchLoader(EmployeeRepository employeeRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${employee.batch-loader.enabled:false}") boolean enabled,
+                               @Value("${employee.batch-loader.window-micros:1000}") long windowMicros,
+                               @Value("${employee.batch-loader.max-batch-size:100}") int maxBatchSize) {
+        this.employeeRepository = employeeRepository;
+        this.enabled = enabled;
+        this.windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+        this.maxBatchSize = maxBatchSize;
+        this.batchSizes = DistributionSummary.builder("employee.batch.loader.size")
+                .description("Ids per coalesced findAllById query")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Optional<Employee> load(long id) {
+        Batch batch;
+        boolean leader = false;
+        boolean full = false;
+        CompletableFuture<Optional<Employee>> employee;
+        synchronized (this) {
+            if (current == null) {
+                current = new Batch();
+                leader = true;
+            }
+            batch = current;
+            employee = batch.employees.computeIfAbsent(id, key -> new CompletableFuture<>());
+            if (batch.employees.size() >= maxBatchSize) {
+                current = null;
+                full = true;
+            }
+        }
+
+        if (full) {
+            dispatch(batch);
+        } else if (leader) {
+            LockSupport.parkNanos(windowNanos);
+            boolean stillOpen;
+            synchronized (this) {
+                stillOpen = current == batch;
+                if (stillOpen) {
+                    current = null;
+                }
+            }
+            // a full batch was already dispatched by the caller that filled it
+            if (stillOpen) {
+                dispatch(batch);
+            }
+        }
+
+        try {
+            return employee.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void dispatch(Batch batch) {
+        batchSizes.record(batch.employees.size());
+        try {
+            Map<Long, Employee> found = new LinkedHashMap<>();
+            employeeRepository.findAllById(batch.employees.keySet()).forEach(e -> found.put(e.getId(), e));
+            batch.employees.forEach((id, future) -> future.complete(Optional.ofNullable(found.get(id))));
+        } catch (RuntimeException e) {
+            batch.employees.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    // batch.employees is only written under the loader lock and only read after the batch is closed
+    private static class Batch {
+        private final Map<Long, CompletableFuture<Optional<Employee>>> employees = new LinkedHashMap<>();
+    }
+}
@@ -0,0 +1,9 @@
+package com.javaguides.springboot.service;
+
+import java.io.OutputStream;
+
+public interface EmployeeExportService {
+
+    // writes every employee to outputStream while the rows are read, the stream is flushed but not closed
+    void exportEmployees(EmployeeFileFormat format, OutputStream outputStream);
+}
@@ -0,0 +1,115 @@
+package com.javaguides.springboot.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.javaguides.springboot.repository.EmployeeJdbcRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// rows go from the JDBC cursor straight into the output, no entities and no persistence context.
+// the output is flushed after the first row for a low time to first byte and then every BUFFER_SIZE bytes
+@Service
+public class EmployeeExportServiceImpl implements EmployeeExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private EmployeeJdbcRepository employeeJdbcRepository;
+    private ObjectMapper objectMapper;
+
+    public EmployeeExportServiceImpl(EmployeeJdbcRepository employeeJdbcRepository, ObjectMapper objectMapper) {
+        this.employeeJdbcRepository = employeeJdbcRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportEmployees(EmployeeFileFormat format, OutputStream outputStream) {
+        try {
+            if (format == EmployeeFileFormat.CSV) {
+                exportCsv(outputStream);
+            } else {
+                exportNdjson(outputStream);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void exportCsv(OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write("id,firstName,lastName,email\n");
+        long[] rows = new long[1];
+        employeeJdbcRepository.scanAll(rs -> {
+            try {
+                writer.write(Long.toString(rs.getLong(1)));
+                writer.write(',');
+                writeCsvField(writer, rs.getString(2));
+                writer.write(',');
+                writeCsvField(writer, rs.getString(3));
+                writer.write(',');
+                writeCsvField(writer, rs.getString(4));
+                writer.write('\n');
+                if (rows[0]++ == 0) {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    private void exportNdjson(OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            // the response stream is closed by the container, not by the generator
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            long[] rows = new long[1];
+            employeeJdbcRepository.scanAll(rs -> {
+                try {
+                    writeJsonLine(generator, rs);
+                    if (rows[0]++ == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.flush();
+        }
+    }
+
+    private static void writeJsonLine(JsonGenerator generator, ResultSet rs) throws IOException, SQLException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", rs.getLong(1));
+        generator.writeStringField("firstName", rs.getString(2));
+        generator.writeStringField("lastName", rs.getString(3));
+        generator.writeStringField("email", rs.getString(4));
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    // quotes fields containing a separator, quote or line break, RFC 4180
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
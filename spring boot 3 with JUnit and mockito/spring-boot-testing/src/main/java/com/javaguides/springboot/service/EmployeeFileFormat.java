@@ -0,0 +1,9 @@
+package com.javaguides.springboot.service;
+
+// file formats of the bulk import and export endpoints
+public enum EmployeeFileFormat {
+    // header line with firstName, lastName and email columns (import: in any order)
+    CSV,
+    // one employee JSON object per line
+    NDJSON
+}
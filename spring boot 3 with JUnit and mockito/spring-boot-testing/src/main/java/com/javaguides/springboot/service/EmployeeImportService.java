@@ -0,0 +1,11 @@
+package com.javaguides.springboot.service;
+
+import com.javaguides.springboot.dto.ImportReport;
+
+import java.io.InputStream;
+
+public interface EmployeeImportService {
+
+    // reads the input once, front to back, so memory use doesn't depend on its size
+    ImportReport importEmployees(InputStream input, EmployeeFileFormat format);
+}
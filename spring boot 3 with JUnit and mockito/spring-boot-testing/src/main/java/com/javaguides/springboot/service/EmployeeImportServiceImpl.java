@@ -0,0 +1,315 @@
+package com.javaguides.springboot.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.javaguides.springboot.cache.EmployeeCache;
+import com.javaguides.springboot.dto.ImportError;
+import com.javaguides.springboot.dto.ImportReport;
+import com.javaguides.springboot.model.Employee;
+import com.javaguides.springboot.model.EmployeeChange;
+import com.javaguides.springboot.outbox.EmployeeOutbox;
+import com.javaguides.springboot.repository.EmployeeJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// rows are parsed and validated line by line and written in chunks of employee.batch.size,
+// each chunk is deduped with one IN query and inserted with one JDBC batch in its own transaction
+@Service
+public class EmployeeImportServiceImpl implements EmployeeImportService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeImportServiceImpl.class);
+    private static final long PROGRESS_INTERVAL = 100_000;
+
+    private EmployeeJdbcRepository employeeJdbcRepository;
+    private EmployeeCache employeeCache;
+    private EmployeeOutbox employeeOutbox;
+    private TransactionTemplate transactionTemplate;
+    private ObjectReader employeeReader;
+    private int maxErrors;
+    private Counter importedRows;
+    private Counter duplicateRows;
+    private Counter invalidRows;
+
+    public EmployeeImportServiceImpl(EmployeeJdbcRepository employeeJdbcRepository,
+                                     EmployeeCache employeeCache,
+                                     EmployeeOutbox employeeOutbox,
+                                     PlatformTransactionManager transactionManager,
+                                     ObjectMapper objectMapper,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${employee.import.max-errors:100}") int maxErrors) {
+        this.employeeJdbcRepository = employeeJdbcRepository;
+        this.employeeCache = employeeCache;
+        this.employeeOutbox = employeeOutbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.employeeReader = objectMapper.readerFor(Employee.class);
+        this.maxErrors = maxErrors;
+        this.importedRows = importCounter(meterRegistry, "imported");
+        this.duplicateRows = importCounter(meterRegistry, "duplicate");
+        this.invalidRows = importCounter(meterRegistry, "invalid");
+    }
+
+    @Override
+    public ImportReport importEmployees(InputStream input, EmployeeFileFormat format) {
+        long start = System.nanoTime();
+        Progress progress = new Progress();
+        List<Row> chunk = new ArrayList<>(employeeJdbcRepository.getBatchSize());
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            Map<String, Integer> columns = null;
+            if (format == EmployeeFileFormat.CSV) {
+                String header = reader.readLine();
+                lineNumber++;
+                if (header == null) {
+                    return progress.report(start);
+                }
+                columns = csvColumns(header);
+            }
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                progress.rows++;
+                Employee employee;
+                try {
+                    employee = format == EmployeeFileFormat.CSV ? parseCsv(columns, line) : parseJson(line);
+                } catch (IllegalArgumentException | JsonProcessingException e) {
+                    progress.invalid(lineNumber, "Malformed row: " + e.getMessage());
+                    continue;
+                }
+                if (employee.getFirstName() == null || employee.getLastName() == null || employee.getEmail() == null) {
+                    progress.invalid(lineNumber, "firstName, lastName and email are required");
+                    continue;
+                }
+                chunk.add(new Row(lineNumber, employee));
+                if (chunk.size() == employeeJdbcRepository.getBatchSize()) {
+                    write(chunk, progress);
+                    chunk.clear();
+                }
+            }
+            write(chunk, progress);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            employeeCache.evictNameSearches();
+        }
+        ImportReport report = progress.report(start);
+        LOGGER.info("Employee import finished: {} rows, {} imported, {} duplicates, {} invalid in {} ms",
+                report.getRows(), report.getImported(), report.getDuplicates(), report.getInvalid(), report.getElapsedMillis());
+        return report;
+    }
+
+    private void write(List<Row> chunk, Progress progress) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        int rejected;
+        try {
+            List<Row> duplicates = transactionTemplate.execute(status -> insertChunk(chunk));
+            duplicates.forEach(row -> progress.duplicate(row.line, duplicateMessage(row)));
+            rejected = duplicates.size();
+        } catch (DataIntegrityViolationException e) {
+            // an email was taken concurrently after the IN query, or a row breaks another constraint (a value too
+            // long for its column): redo this chunk row by row and report each failing row with its real cause
+            rejected = 0;
+            for (Row row : chunk) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        employeeJdbcRepository.insertAll(List.of(row.employee));
+                        employeeOutbox.record(EmployeeChange.Type.CREATED, row.employee.getId());
+                    });
+                } catch (DataIntegrityViolationException rowException) {
+                    rejected++;
+                    if (EmployeeServiceImpl.isDuplicateEmail(rowException)) {
+                        progress.duplicate(row.line, duplicateMessage(row));
+                    } else {
+                        progress.invalid(row.line, "Rejected by the database: " + rowException.getMostSpecificCause().getMessage());
+                    }
+                }
+            }
+        }
+        progress.imported(chunk.size() - rejected);
+    }
+
+    private static String duplicateMessage(Row row) {
+        return "Employee already exist with given email: " + row.employee.getEmail();
+    }
+
+    // returns the rows skipped because their email is already used in the database or earlier in the chunk
+    private List<Row> insertChunk(List<Row> chunk) {
+        Set<String> emails = new HashSet<>();
+        chunk.forEach(row -> emails.add(row.employee.getEmail()));
+        Map<String, Long> existingIds = employeeJdbcRepository.findIdsByEmail(emails);
+
+        Set<String> seenEmails = new HashSet<>();
+        List<Employee> toInsert = new ArrayList<>(chunk.size());
+        List<Row> duplicates = new ArrayList<>();
+        for (Row row : chunk) {
+            String email = row.employee.getEmail();
+            if (existingIds.containsKey(email) || !seenEmails.add(email)) {
+                duplicates.add(row);
+            } else {
+                toInsert.add(row.employee);
+            }
+        }
+        employeeJdbcRepository.insertAll(toInsert);
+        employeeOutbox.recordAll(EmployeeChange.Type.CREATED, toInsert.stream().map(Employee::getId).toList());
+        return duplicates;
+    }
+
+    private Employee parseJson(String line) throws JsonProcessingException {
+        Employee employee = employeeReader.readValue(line);
+        if (employee == null) {
+            throw new IllegalArgumentException("expected a JSON object");
+        }
+        // ids and versions are assigned by the database
+        employee.setId(0);
+        employee.setVersion(0);
+        return employee;
+    }
+
+    private static Employee parseCsv(Map<String, Integer> columns, String line) {
+        List<String> fields = splitCsv(line);
+        return Employee.builder()
+                .firstName(field(fields, columns.get("firstname")))
+                .lastName(field(fields, columns.get("lastname")))
+                .email(field(fields, columns.get("email")))
+                .build();
+    }
+
+    // header name (case and underscores ignored) -> column index
+    private static Map<String, Integer> csvColumns(String header) {
+        List<String> names = splitCsv(header.startsWith("\uFEFF") ? header.substring(1) : header);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("firstname", "lastname", "email")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header is missing the " + required + " column");
+            }
+        }
+        return columns;
+    }
+
+    private static String field(List<String> fields, int index) {
+        if (index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // RFC 4180 fields on a single line: commas separate, quotes may wrap a field and "" escapes a quote
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static Counter importCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("employee.import.rows")
+                .description("Rows processed by the bulk import")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record Row(long line, Employee employee) {
+    }
+
+    // running totals of one import, only the first maxErrors errors are kept
+    private class Progress {
+
+        private long rows;
+        private long imported;
+        private long duplicates;
+        private long invalid;
+        private List<ImportError> errors = new ArrayList<>();
+        private boolean errorsTruncated;
+        private long nextLog = PROGRESS_INTERVAL;
+
+        private void imported(int count) {
+            imported += count;
+            importedRows.increment(count);
+            if (rows >= nextLog) {
+                nextLog += PROGRESS_INTERVAL;
+                LOGGER.info("Employee import: {} rows read, {} imported, {} duplicates, {} invalid",
+                        rows, imported, duplicates, invalid);
+            }
+        }
+
+        private void duplicate(long line, String message) {
+            duplicates++;
+            duplicateRows.increment();
+            error(line, message);
+        }
+
+        private void invalid(long line, String message) {
+            invalid++;
+            invalidRows.increment();
+            error(line, message);
+        }
+
+        private void error(long line, String message) {
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportError(line, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+
+        private ImportReport report(long start) {
+            return new ImportReport(rows, imported, duplicates, invalid, errors, errorsTruncated,
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+}
@@ -1,19 +1,72 @@
 package com.javaguides.springboot.service;
 
+import com.javaguides.springboot.dto.BatchItemResult;
+import com.javaguides.springboot.dto.EmployeePage;
+import com.javaguides.springboot.dto.EmployeeSummary;
+import com.javaguides.springboot.dto.EmployeeView;
+import com.javaguides.springboot.dto.VersionedEmployeeList;
 import com.javaguides.springboot.model.Employee;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface EmployeeService {
 
     Employee saveEmployee(Employee employee);
 
+    List<BatchItemResult> saveEmployees(List<Employee> employees);
+
     List<Employee> getAllEmployees();
 
+    // all employees and the collection version, read in one transaction so the version never runs ahead of the list
+    VersionedEmployeeList getAllEmployeesWithVersion();
+
+    // changes with every create, update and delete, the ETag of the employee collection
+    String getEmployeesVersion();
+
+    EmployeePage getEmployeesPage(long cursor, int size);
+
+    void streamAllEmployees(Consumer<Employee> consumer);
+
     Optional<Employee> getEmployeeById(long id);
 
+    // read model of one employee, served from the cache or selected straight into the projection
+    Optional<EmployeeView> getEmployeeViewById(long id);
+
+    // version of one employee without loading it, empty when no employee has that id
+    Optional<Long> getEmployeeVersion(long id);
+
+    // employees with the given ids in request order, unknown ids are left out
+    List<EmployeeView> getEmployeesByIds(Collection<Long> ids);
+
+    Optional<Employee> getEmployeeByEmail(String email);
+
+    List<EmployeeSummary> searchByName(String lastNamePrefix, String firstNamePrefix, int limit);
+
+    // ranked full-text search over first name, last name and email, empty while the search index is being built
+    Optional<List<EmployeeSummary>> searchEmployees(String query, int limit);
+
     Employee updateEmployee(Employee updatedEmployee);
 
-    void deleteEmployee(long id);
+    // replaces first name, last name and email, empty when no employee has that id. with expectedVersion it fails
+    // with OptimisticLockingFailureException unless the employee is still at that version
+    Optional<Employee> updateEmployee(long id, Employee changes, Long expectedVersion);
+
+    List<BatchItemResult> updateEmployees(List<Employee> employees);
+
+    // updates only the non-null fields in one statement, false when no employee has that id
+    boolean patchEmployee(long id, Employee changes, Long expectedVersion);
+
+    // a single DELETE, false when no employee has that id
+    boolean deleteEmployee(long id);
+
+    List<BatchItemResult> deleteEmployees(List<Long> ids);
+
+    // delete in chunks of employee.batch.size, each chunk in its own transaction: a failure leaves the chunks before
+    // it deleted. return the number of deleted employees
+    long purgeEmployees(List<Long> ids);
+
+    long purgeEmployeesByEmailDomain(String domain);
 }
@@ -1,50 +1,487 @@
 package com.javaguides.springboot.service;
 
+import com.javaguides.springboot.cache.EmployeeCache;
+import com.javaguides.springboot.dto.BatchItemResult;
+import com.javaguides.springboot.dto.BatchItemResult.Status;
+import com.javaguides.springboot.dto.EmployeePage;
+import com.javaguides.springboot.dto.EmployeeSummary;
+import com.javaguides.springboot.dto.EmployeeView;
+import com.javaguides.springboot.dto.VersionedEmployeeList;
 import com.javaguides.springboot.exception.ResourceNotFundException;
 import com.javaguides.springboot.model.Employee;
+import com.javaguides.springboot.model.EmployeeChange;
+import com.javaguides.springboot.outbox.EmployeeOutbox;
+import com.javaguides.springboot.repository.EmployeeJdbcRepository;
 import com.javaguides.springboot.repository.EmployeeRepository;
+import com.javaguides.springboot.search.EmployeeSearchIndex;
+import jakarta.persistence.EntityManager;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class EmployeeServiceImpl implements EmployeeService {
 
+    static final int MAX_PAGE_SIZE = 500;
 
     private EmployeeRepository employeeRepository;
+    private EmployeeJdbcRepository employeeJdbcRepository;
+    private EmployeeCache employeeCache;
+    private EntityManager entityManager;
+    private EmployeeBatchLoader employeeBatchLoader;
+    private EmployeeOutbox employeeOutbox;
+    private EmployeeSearchIndex employeeSearchIndex;
+    private TransactionTemplate transactionTemplate;
 
-    public EmployeeServiceImpl(EmployeeRepository employeeRepository) {
+    public EmployeeServiceImpl(EmployeeRepository employeeRepository,
+                               EmployeeJdbcRepository employeeJdbcRepository,
+                               EmployeeCache employeeCache,
+                               EntityManager entityManager,
+                               EmployeeBatchLoader employeeBatchLoader,
+                               EmployeeOutbox employeeOutbox,
+                               EmployeeSearchIndex employeeSearchIndex,
+                               PlatformTransactionManager transactionManager) {
         this.employeeRepository = employeeRepository;
+        this.employeeJdbcRepository = employeeJdbcRepository;
+        this.employeeCache = employeeCache;
+        this.entityManager = entityManager;
+        this.employeeBatchLoader = employeeBatchLoader;
+        this.employeeOutbox = employeeOutbox;
+        this.employeeSearchIndex = employeeSearchIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
+    @Transactional
     public Employee saveEmployee(Employee employee) {
+        // a single insert, the unique index on email rejects duplicates (also under concurrent creates)
+        Employee newEmployee = saveUnique(employee);
+        employeeOutbox.record(EmployeeChange.Type.CREATED, newEmployee.getId());
+        employeeSearchIndex.indexAfterCommit(List.of(newEmployee));
+        employeeCache.putAfterCommit(newEmployee);
+        employeeCache.evictNameSearchesOnCompletion();
+        return newEmployee;
+    }
+
+    @Override
+    @Transactional
+    public List<BatchItemResult> saveEmployees(List<Employee> employees) {
+        BatchItemResult[] results = new BatchItemResult[employees.size()];
+        Map<String, Long> existingIds = employeeJdbcRepository.findIdsByEmail(emailsOf(employees));
 
-        Optional<Employee> savedEmployee = employeeRepository.findByEmail(employee.getEmail());
-        if (savedEmployee.isPresent()) {
-            throw new ResourceNotFundException("Employee already exist with given email: " + employee.getEmail());
+        Set<String> seenEmails = new HashSet<>();
+        List<Employee> toInsert = new ArrayList<>();
+        List<Integer> toInsertIndexes = new ArrayList<>();
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            if (!isValid(employee)) {
+                results[i] = new BatchItemResult(i, null, Status.INVALID, "firstName, lastName and email are required");
+            } else if (existingIds.containsKey(employee.getEmail()) || !seenEmails.add(employee.getEmail())) {
+                results[i] = new BatchItemResult(i, null, Status.DUPLICATE_EMAIL,
+                        "Employee already exist with given email: " + employee.getEmail());
+            } else {
+                toInsert.add(employee);
+                toInsertIndexes.add(i);
+            }
         }
-        return employeeRepository.save(employee);
+
+        employeeJdbcRepository.insertAll(toInsert);
+        employeeOutbox.recordAll(EmployeeChange.Type.CREATED, toInsert.stream().map(Employee::getId).toList());
+        employeeSearchIndex.indexAfterCommit(toInsert);
+        employeeCache.evictNameSearchesOnCompletion();
+        for (int i = 0; i < toInsert.size(); i++) {
+            int index = toInsertIndexes.get(i);
+            results[index] = new BatchItemResult(index, toInsert.get(i).getId(), Status.CREATED, null);
+        }
+        return Arrays.asList(results);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Employee> getAllEmployees() {
         return employeeRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public VersionedEmployeeList getAllEmployeesWithVersion() {
+        // version first: a write committed in between makes the list newer than its version, which only costs
+        // the client one more full fetch. the other way round it would keep a stale list
+        String version = employeeOutbox.currentVersion();
+        return new VersionedEmployeeList(version, employeeRepository.findAllViews());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getEmployeesVersion() {
+        return employeeOutbox.currentVersion();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeePage getEmployeesPage(long cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<EmployeeView> employees = employeeRepository.findViewsByIdGreaterThan(cursor, PageRequest.of(0, pageSize));
+
+        // a short page means there is nothing after it
+        Long nextCursor = employees.size() < pageSize ? null : employees.get(employees.size() - 1).id();
+        return new EmployeePage(employees, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllEmployees(Consumer<Employee> consumer) {
+        try (Stream<Employee> employees = employeeRepository.streamAll()) {
+            employees.forEach(employee -> {
+                consumer.accept(employee);
+                // drop each row from the persistence context once it is written so heap stays flat
+                entityManager.detach(employee);
+            });
+        }
+    }
+
     @Override
     public Optional<Employee> getEmployeeById(long id) {
-        return employeeRepository.findById(id);
+        Optional<Employee> cachedEmployee = employeeCache.getById(id);
+        if (cachedEmployee.isPresent()) {
+            return cachedEmployee;
+        }
+        // concurrent misses share one IN query when the batch loader is enabled
+        long loadStarted = employeeCache.loadStarted();
+        Optional<Employee> employee = employeeBatchLoader.isEnabled()
+                ? employeeBatchLoader.load(id)
+                : employeeRepository.findById(id);
+        employee.ifPresent(loaded -> employeeCache.putLoaded(loaded, loadStarted));
+        return employee;
     }
 
+    // no transaction of its own: a cache hit shouldn't take a connection, a miss runs in the repository's
+    // read-only transaction. findById rather than a projection: one row costs the same either way, and with
+    // employee.l2-cache.enabled it is served from the entity region, which only writes to this employee evict
     @Override
+    public Optional<EmployeeView> getEmployeeViewById(long id) {
+        Optional<EmployeeView> cachedEmployee = employeeCache.getViewById(id);
+        if (cachedEmployee.isPresent()) {
+            return cachedEmployee;
+        }
+        long loadStarted = employeeCache.loadStarted();
+        Optional<EmployeeView> employee = (employeeBatchLoader.isEnabled()
+                ? employeeBatchLoader.load(id)
+                : employeeRepository.findById(id)).map(EmployeeView::of);
+        employee.ifPresent(loaded -> employeeCache.putLoaded(loaded, loadStarted));
+        return employee;
+    }
+
+    @Override
+    public Optional<Long> getEmployeeVersion(long id) {
+        Optional<Employee> cachedEmployee = employeeCache.getById(id);
+        if (cachedEmployee.isPresent()) {
+            return cachedEmployee.map(Employee::getVersion);
+        }
+        return employeeRepository.findVersionById(id);
+    }
+
+    @Override
+    public List<EmployeeView> getEmployeesByIds(Collection<Long> ids) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        Map<Long, EmployeeView> employees = new HashMap<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : uniqueIds) {
+            employeeCache.getViewById(id).ifPresentOrElse(employee -> employees.put(id, employee), () -> missingIds.add(id));
+        }
+        // cache misses are loaded with one IN query per MAX_PAGE_SIZE ids
+        for (int from = 0; from < missingIds.size(); from += MAX_PAGE_SIZE) {
+            List<Long> chunk = missingIds.subList(from, Math.min(from + MAX_PAGE_SIZE, missingIds.size()));
+            long loadStarted = employeeCache.loadStarted();
+            for (EmployeeView employee : employeeRepository.findViewsByIdIn(chunk)) {
+                employeeCache.putLoaded(employee, loadStarted);
+                employees.put(employee.id(), employee);
+            }
+        }
+        return uniqueIds.stream()
+                .map(employees::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public Optional<Employee> getEmployeeByEmail(String email) {
+        Optional<Employee> cachedEmployee = employeeCache.getByEmail(email);
+        if (cachedEmployee.isPresent()) {
+            return cachedEmployee;
+        }
+        long loadStarted = employeeCache.loadStarted();
+        Optional<Employee> employee = employeeRepository.findByEmail(email);
+        employee.ifPresent(loaded -> employeeCache.putLoaded(loaded, loadStarted));
+        return employee;
+    }
+
+    @Override
+    public List<EmployeeSummary> searchByName(String lastNamePrefix, String firstNamePrefix, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        String firstName = firstNamePrefix == null ? "" : firstNamePrefix;
+        String key = lastNamePrefix + "|" + firstName + "|" + pageSize;
+        Optional<List<EmployeeSummary>> cachedSummaries = employeeCache.getNameSearch(key);
+        if (cachedSummaries.isPresent()) {
+            return cachedSummaries.get();
+        }
+        List<EmployeeSummary> summaries = employeeRepository.findByLastNameStartingWithAndFirstNameStartingWith(
+                lastNamePrefix, firstName, PageRequest.of(0, pageSize, Sort.by("lastName", "firstName", "id"))).getContent();
+        employeeCache.putNameSearch(key, summaries);
+        return summaries;
+    }
+
+    @Override
+    public Optional<List<EmployeeSummary>> searchEmployees(String query, int limit) {
+        return employeeSearchIndex.search(query, limit);
+    }
+
+    @Override
+    @Transactional
     public Employee updateEmployee(Employee updatedEmployee) {
-        return employeeRepository.save(updatedEmployee);
+        // the cached copy is replaced only once the new version is committed, until then readers get the old row
+        employeeCache.evictOnCompletion(List.of(updatedEmployee.getId()));
+        Employee savedEmployee = saveUnique(updatedEmployee);
+        employeeOutbox.record(EmployeeChange.Type.UPDATED, savedEmployee.getId());
+        employeeSearchIndex.indexAfterCommit(List.of(savedEmployee));
+        employeeCache.putAfterCommit(savedEmployee);
+        employeeCache.evictNameSearchesOnCompletion();
+        return savedEmployee;
+    }
+
+    // the employee is read in this read-write transaction, so from the primary and not from the cache or a
+    // replica, which may still hold a version from before the client's last write
+    @Override
+    @Transactional
+    public Optional<Employee> updateEmployee(long id, Employee changes, Long expectedVersion) {
+        Optional<Employee> employee = employeeRepository.findById(id);
+        if (employee.isEmpty()) {
+            return Optional.empty();
+        }
+        Employee savedEmployee = employee.get();
+        if (expectedVersion != null && expectedVersion != savedEmployee.getVersion()) {
+            throw new OptimisticLockingFailureException("Employee " + id + " is no longer at version " + expectedVersion);
+        }
+        savedEmployee.setFirstName(changes.getFirstName());
+        savedEmployee.setLastName(changes.getLastName());
+        savedEmployee.setEmail(changes.getEmail());
+        return Optional.of(updateEmployee(savedEmployee));
+    }
+
+    @Override
+    @Transactional
+    public List<BatchItemResult> updateEmployees(List<Employee> employees) {
+        BatchItemResult[] results = new BatchItemResult[employees.size()];
+        Map<String, Long> existingIds = employeeJdbcRepository.findIdsByEmail(emailsOf(employees));
+
+        Map<String, Long> claimedEmails = new HashMap<>();
+        List<Employee> toUpdate = new ArrayList<>();
+        List<Integer> toUpdateIndexes = new ArrayList<>();
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            if (!isValid(employee)) {
+                results[i] = new BatchItemResult(i, employee.getId(), Status.INVALID, "firstName, lastName and email are required");
+                continue;
+            }
+            // the email may be kept by its current owner but not taken from another employee
+            Long ownerId = existingIds.get(employee.getEmail());
+            Long claimedBy = claimedEmails.putIfAbsent(employee.getEmail(), employee.getId());
+            if ((ownerId != null && ownerId != employee.getId()) || (claimedBy != null && claimedBy != employee.getId())) {
+                results[i] = new BatchItemResult(i, employee.getId(), Status.DUPLICATE_EMAIL,
+                        "Employee already exist with given email: " + employee.getEmail());
+            } else {
+                toUpdate.add(employee);
+                toUpdateIndexes.add(i);
+            }
+        }
+
+        employeeCache.evictOnCompletion(toUpdate.stream().map(Employee::getId).toList());
+        int[] counts = employeeJdbcRepository.updateAll(toUpdate);
+        employeeCache.evictNameSearchesOnCompletion();
+        List<Employee> updatedEmployees = new ArrayList<>();
+        for (int i = 0; i < toUpdate.size(); i++) {
+            int index = toUpdateIndexes.get(i);
+            if (counts[i] > 0) {
+                updatedEmployees.add(toUpdate.get(i));
+                results[index] = new BatchItemResult(index, toUpdate.get(i).getId(), Status.UPDATED, null);
+            } else {
+                results[index] = new BatchItemResult(index, toUpdate.get(i).getId(), Status.NOT_FOUND,
+                        "Employee not found with given id: " + toUpdate.get(i).getId());
+            }
+        }
+        employeeOutbox.recordAll(EmployeeChange.Type.UPDATED, updatedEmployees.stream().map(Employee::getId).toList());
+        employeeSearchIndex.indexAfterCommit(updatedEmployees);
+        return Arrays.asList(results);
     }
 
     @Override
-    public void deleteEmployee(long id) {
-        employeeRepository.deleteById(id);
+    @Transactional
+    public boolean patchEmployee(long id, Employee changes, Long expectedVersion) {
+        employeeCache.evictOnCompletion(List.of(id));
+        int updated;
+        try {
+            updated = employeeJdbcRepository.patch(id, changes, expectedVersion);
+        } catch (DuplicateKeyException e) {
+            throw new ResourceNotFundException("Employee already exist with given email: " + changes.getEmail(), e);
+        }
+        employeeCache.evictNameSearchesOnCompletion();
+        if (updated > 0) {
+            employeeOutbox.record(EmployeeChange.Type.UPDATED, id);
+            employeeSearchIndex.patchAfterCommit(id, changes);
+            return true;
+        }
+        // only a failed update pays for the extra lookup that tells a missing row from a stale version
+        if (expectedVersion != null && employeeRepository.existsById(id)) {
+            throw new OptimisticLockingFailureException("Employee " + id + " is no longer at version " + expectedVersion);
+        }
+        return false;
+    }
+
+    @Override
+    @Transactional
+    public boolean deleteEmployee(long id) {
+        employeeCache.evictOnCompletion(List.of(id));
+        if (employeeJdbcRepository.deleteById(id) == 0) {
+            return false;
+        }
+        employeeOutbox.record(EmployeeChange.Type.DELETED, id);
+        employeeSearchIndex.removeAfterCommit(List.of(id));
+        employeeCache.evictNameSearchesOnCompletion();
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public List<BatchItemResult> deleteEmployees(List<Long> ids) {
+        employeeCache.evictOnCompletion(ids);
+        int[] counts = employeeJdbcRepository.deleteAllById(ids);
+        employeeCache.evictNameSearchesOnCompletion();
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        List<Long> deletedIds = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (counts[i] > 0) {
+                deletedIds.add(ids.get(i));
+                results.add(new BatchItemResult(i, ids.get(i), Status.DELETED, null));
+            } else {
+                results.add(new BatchItemResult(i, ids.get(i), Status.NOT_FOUND, "Employee not found with given id: " + ids.get(i)));
+            }
+        }
+        employeeOutbox.recordAll(EmployeeChange.Type.DELETED, deletedIds);
+        employeeSearchIndex.removeAfterCommit(deletedIds);
+        return results;
+    }
+
+    @Override
+    public long purgeEmployees(List<Long> ids) {
+        List<Long> uniqueIds = List.copyOf(new LinkedHashSet<>(ids));
+        int chunkSize = employeeJdbcRepository.getBatchSize();
+        long deleted = 0;
+        for (int from = 0; from < uniqueIds.size(); from += chunkSize) {
+            List<Long> chunk = uniqueIds.subList(from, Math.min(from + chunkSize, uniqueIds.size()));
+            deleted += transactionTemplate.execute(status -> deleteChunk(chunk));
+        }
+        return deleted;
+    }
+
+    @Override
+    public long purgeEmployeesByEmailDomain(String domain) {
+        int chunkSize = employeeJdbcRepository.getBatchSize();
+        long deleted = 0;
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            List<Long> chunk = transactionTemplate.execute(status -> {
+                List<Long> ids = employeeJdbcRepository.lockIdsByEmailDomain(domain, from, chunkSize);
+                deleteChunk(ids);
+                return ids;
+            });
+            deleted += chunk.size();
+            if (chunk.size() < chunkSize) {
+                return deleted;
+            }
+            afterId = chunk.get(chunk.size() - 1);
+        }
+    }
+
+    // one batched round trip of single-row deletes, only the employees actually deleted are recorded
+    private int deleteChunk(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        employeeCache.evictOnCompletion(ids);
+        int[] counts = employeeJdbcRepository.deleteAllById(ids);
+        employeeCache.evictNameSearchesOnCompletion();
+        List<Long> deletedIds = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (counts[i] > 0) {
+                deletedIds.add(ids.get(i));
+            }
+        }
+        employeeOutbox.recordAll(EmployeeChange.Type.DELETED, deletedIds);
+        employeeSearchIndex.removeAfterCommit(deletedIds);
+        return deletedIds.size();
+    }
+
+    // flushed right away so that a duplicate email fails here rather than at commit, and an update has bumped
+    // the version before the employee is cached and returned
+    private Employee saveUnique(Employee employee) {
+        try {
+            return employeeRepository.saveAndFlush(employee);
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateEmail(e)) {
+                throw new ResourceNotFundException("Employee already exist with given email: " + employee.getEmail(), e);
+            }
+            throw e;
+        }
+    }
+
+    // also used by the import. JPA writes carry Hibernate's parsed constraint name, JDBC batches only the driver's
+    // message, which names the violated index on both MySQL and H2
+    static boolean isDuplicateEmail(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase().contains(Employee.UNIQUE_EMAIL);
+            }
+            if (cause instanceof SQLException sqlException && sqlException.getMessage() != null) {
+                return sqlException.getMessage().toLowerCase().contains(Employee.UNIQUE_EMAIL);
+            }
+        }
+        return false;
+    }
+
+    private static Set<String> emailsOf(List<Employee> employees) {
+        Set<String> emails = new HashSet<>();
+        for (Employee employee : employees) {
+            if (employee.getEmail() != null) {
+                emails.add(employee.getEmail());
+            }
+        }
+        return emails;
+    }
+
+    private static boolean isValid(Employee employee) {
+        return employee.getFirstName() != null && employee.getLastName() != null && employee.getEmail() != null;
     }
 }
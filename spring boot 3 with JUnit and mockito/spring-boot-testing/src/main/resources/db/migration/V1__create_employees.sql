@@ -0,0 +1,12 @@
+-- the employees table as mapped by model.Employee, written to run on both MySQL and H2
+CREATE TABLE employees (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    first_name VARCHAR(255) NOT NULL,
+    last_name  VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    version    BIGINT       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_employees_email UNIQUE (email)
+);
+
+CREATE INDEX idx_employees_last_first ON employees (last_name, first_name);
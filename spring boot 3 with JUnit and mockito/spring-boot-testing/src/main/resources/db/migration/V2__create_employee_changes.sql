@@ -0,0 +1,11 @@
+-- transactional outbox of model.EmployeeChange, sequence orders all changes
+CREATE TABLE employee_changes (
+    sequence    BIGINT      NOT NULL AUTO_INCREMENT,
+    employee_id BIGINT      NOT NULL,
+    change_type ENUM ('CREATED', 'UPDATED', 'DELETED') NOT NULL,
+    occurred_at DATETIME(6) NOT NULL,
+    published   BOOLEAN     NOT NULL,
+    PRIMARY KEY (sequence)
+);
+
+CREATE INDEX idx_employee_changes_published ON employee_changes (published, sequence);
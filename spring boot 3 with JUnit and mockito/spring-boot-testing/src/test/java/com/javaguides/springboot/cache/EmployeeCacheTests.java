@@ -0,0 +1,166 @@
+package com.javaguides.springboot.cache;
+
+import com.javaguides.springboot.dto.EmployeeView;
+import com.javaguides.springboot.model.Employee;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+public class EmployeeCacheTests {
+
+    private EmployeeCache employeeCache;
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() {
+        employeeCache = new EmployeeCache(new ConcurrentMapCacheManager(EmployeeCache.BY_ID, EmployeeCache.BY_EMAIL, EmployeeCache.BY_NAME),
+                Duration.ofSeconds(2));
+        employee = Employee.builder()
+                .id(1L)
+                .firstName("Golam Rabbani")
+                .lastName("Rishad")
+                .email("gr.rishad@gmail.com")
+                .build();
+    }
+
+    // JUnit test for cache lookups by id and email
+    @DisplayName("JUnit test for cache lookups by id and email")
+    @Test
+    public void givenCachedEmployee_whenGetByIdAndEmail_thenReturnCopies() {
+        // given ->  precondition or setup
+        employeeCache.put(employee);
+
+        // when -> action or the behavior that we are testing
+        Employee byId = employeeCache.getById(1L).get();
+        Employee byEmail = employeeCache.getByEmail("gr.rishad@gmail.com").get();
+
+        // then -> verify the output
+        Assertions.assertThat(byId.getEmail()).isEqualTo(employee.getEmail());
+        Assertions.assertThat(byEmail.getId()).isEqualTo(1L);
+        Assertions.assertThat(byId).isNotSameAs(employee).isNotSameAs(byEmail);
+    }
+
+    // JUnit test for read model lookups by id
+    @DisplayName("JUnit test for read model lookups by id")
+    @Test
+    public void givenCachedEmployee_whenGetViewById_thenReturnSameImmutableView() {
+        // given ->  precondition or setup
+        employeeCache.put(employee);
+        employee.setEmail("rabbani@gmail.com");
+
+        // when -> action or the behavior that we are testing
+        EmployeeView first = employeeCache.getViewById(1L).get();
+        EmployeeView second = employeeCache.getViewById(1L).get();
+
+        // then -> verify the output
+        Assertions.assertThat(first.email()).isEqualTo("gr.rishad@gmail.com");
+        Assertions.assertThat(first).isSameAs(second);
+    }
+
+    // JUnit test for stale email entries after an email change
+    @DisplayName("JUnit test for stale email entries after an email change")
+    @Test
+    public void givenChangedEmail_whenGetByOldEmail_thenReturnEmpty() {
+        // given ->  precondition or setup
+        employeeCache.put(employee);
+        employee.setEmail("rabbani@gmail.com");
+        employeeCache.put(employee);
+
+        // when -> action or the behavior that we are testing
+        Optional<Employee> byOldEmail = employeeCache.getByEmail("gr.rishad@gmail.com");
+
+        // then -> verify the output
+        Assertions.assertThat(byOldEmail).isEmpty();
+        Assertions.assertThat(employeeCache.getByEmail("rabbani@gmail.com")).isPresent();
+    }
+
+    // JUnit test for evict operation
+    @DisplayName("JUnit test for evict operation")
+    @Test
+    public void givenCachedEmployee_whenEvict_thenMissByIdAndEmail() {
+        // given ->  precondition or setup
+        employeeCache.put(employee);
+
+        // when -> action or the behavior that we are testing
+        employeeCache.evict(1L);
+
+        // then -> verify the output
+        Assertions.assertThat(employeeCache.getById(1L)).isEmpty();
+        Assertions.assertThat(employeeCache.getByEmail("gr.rishad@gmail.com")).isEmpty();
+    }
+
+    // JUnit test for the no-op cache configuration
+    @DisplayName("JUnit test for the no-op cache configuration")
+    @Test
+    public void givenNoOpCacheManager_whenPut_thenAlwaysMiss() {
+        // given ->  precondition or setup
+        employeeCache = new EmployeeCache(new NoOpCacheManager(), Duration.ofSeconds(2));
+
+        // when -> action or the behavior that we are testing
+        employeeCache.put(employee);
+
+        // then -> verify the output
+        Assertions.assertThat(employeeCache.getById(1L)).isEmpty();
+    }
+
+    // JUnit test for a read that loaded the employee before a write to it completed
+    @DisplayName("JUnit test for a read that loaded the employee before a write to it completed")
+    @Test
+    public void givenLoadStartedBeforeWrite_whenPutLoaded_thenNotCached() {
+        // given ->  precondition or setup
+        long loadStarted = employeeCache.loadStarted();
+        employeeCache.evictOnCompletion(List.of(1L));
+
+        // when -> action or the behavior that we are testing
+        employeeCache.putLoaded(employee, loadStarted);
+
+        // then -> verify the output
+        Assertions.assertThat(employeeCache.getById(1L)).isEmpty();
+    }
+
+    // JUnit test for a read that started right after a write, e.g. on a lagging replica
+    @DisplayName("JUnit test for a read that started right after a write, e.g. on a lagging replica")
+    @Test
+    public void givenLoadStartedWithinTombstone_whenPutLoaded_thenNotCachedUntilTombstoneExpires() {
+        // given ->  precondition or setup
+        employeeCache = new EmployeeCache(new ConcurrentMapCacheManager(EmployeeCache.BY_ID, EmployeeCache.BY_EMAIL, EmployeeCache.BY_NAME),
+                Duration.ofMillis(50));
+        employeeCache.evictOnCompletion(List.of(1L));
+
+        // when -> action or the behavior that we are testing
+        employeeCache.putLoaded(employee, employeeCache.loadStarted());
+        Optional<Employee> withinTombstone = employeeCache.getById(1L);
+        long deadline = System.nanoTime() + Duration.ofMillis(60).toNanos();
+        while (System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        employeeCache.putLoaded(employee, employeeCache.loadStarted());
+
+        // then -> verify the output
+        Assertions.assertThat(withinTombstone).isEmpty();
+        Assertions.assertThat(employeeCache.getById(1L)).isPresent();
+    }
+
+    // JUnit test for a load slower than the tombstone period
+    @DisplayName("JUnit test for a load slower than the tombstone period")
+    @Test
+    public void givenLoadSlowerThanTombstone_whenPutLoaded_thenNotCached() {
+        // given ->  precondition or setup
+        long loadStarted = employeeCache.loadStarted() - Duration.ofSeconds(3).toNanos();
+
+        // when -> action or the behavior that we are testing
+        employeeCache.putLoaded(employee, loadStarted);
+
+        // then -> verify the output
+        Assertions.assertThat(employeeCache.getById(1L)).isEmpty();
+        employeeCache.putLoaded(employee, employeeCache.loadStarted());
+        Assertions.assertThat(employeeCache.getById(1L)).isPresent();
+    }
+}
@@ -1,18 +1,35 @@
 package com.javaguides.springboot.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.javaguides.springboot.dto.BatchItemResult;
+import com.javaguides.springboot.dto.EmployeePage;
+import com.javaguides.springboot.dto.EmployeeSummary;
+import com.javaguides.springboot.dto.EmployeeView;
+import com.javaguides.springboot.dto.VersionedEmployeeList;
+import com.javaguides.springboot.json.JsonConfig;
 import com.javaguides.springboot.model.Employee;
+import com.javaguides.springboot.service.EmployeeAsyncService;
+import com.javaguides.springboot.service.EmployeeExportService;
+import com.javaguides.springboot.service.EmployeeImportService;
 import com.javaguides.springboot.service.EmployeeService;
+import org.assertj.core.api.Assertions;
 import org.hamcrest.CoreMatchers;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
 import org.mockito.BDDMockito;
+import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
@@ -21,8 +38,12 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
 
-@WebMvcTest
+@WebMvcTest(EmployeeController.class)
+@Import(JsonConfig.class)
 public class EmployeeControllerTest {
 
     @Autowired
@@ -32,6 +53,15 @@ public class EmployeeControllerTest {
     // --> tells spring to create a mock instance of Service and add it to the application context, so that it's injected into Controller
     private EmployeeService employeeService;
 
+    @MockBean
+    private EmployeeAsyncService employeeAsyncService;
+
+    @MockBean
+    private EmployeeImportService employeeImportService;
+
+    @MockBean
+    private EmployeeExportService employeeExportService;
+
     @Autowired
     private ObjectMapper objectMapper;  // serialize and deserialize java object
 
@@ -65,6 +95,32 @@ public class EmployeeControllerTest {
                         CoreMatchers.is(employee.getEmail())));
     }
 
+    // JUnit test for batch create employees REST API
+    @DisplayName("JUnit test for batch create employees REST API")
+    @Test
+    public void givenListOfEmployees_whenCreateEmployees_thenReturnResultPerEmployee() throws Exception {
+        // given -- precondition or setup
+        List<Employee> listOfEmployees = new ArrayList<>();
+        listOfEmployees.add(Employee.builder().firstName("Golam Rabbani").lastName("Rishad").email("gr.rishad@gmail.com").build());
+        listOfEmployees.add(Employee.builder().firstName("Sultan").lastName("Mahmud").email("gr.rishad@gmail.com").build());
+
+        BDDMockito.given(employeeService.saveEmployees(ArgumentMatchers.anyList())).willReturn(List.of(
+                new BatchItemResult(0, 1L, BatchItemResult.Status.CREATED, null),
+                new BatchItemResult(1, null, BatchItemResult.Status.DUPLICATE_EMAIL, "duplicate")));
+
+        // when -- action or behavior that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(listOfEmployees)));
+
+        // then - verify the result or output using assert statements
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()", CoreMatchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].status", CoreMatchers.is("CREATED")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].status", CoreMatchers.is("DUPLICATE_EMAIL")));
+    }
+
     // JUnit test for getAll employees
     @DisplayName("JUnit test for getAll employees")
     @Test
@@ -74,7 +130,7 @@ public class EmployeeControllerTest {
         listOfEmployees.add(Employee.builder().firstName("Golam Rabbani").lastName("Rishad").email("gr.rishad@gmail.com").build());
         listOfEmployees.add(Employee.builder().firstName("Sultan").lastName("Mahmud").email("sultan@gmail.com").build());
 
-        BDDMockito.given(employeeService.getAllEmployees()).willReturn(listOfEmployees);
+        BDDMockito.given(employeeService.getAllEmployeesWithVersion()).willReturn(new VersionedEmployeeList("7", views(listOfEmployees)));
 
         // when -> action or the behavior that we are testing
         ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees"));
@@ -82,10 +138,138 @@ public class EmployeeControllerTest {
         // then -> verify the output
         response.andExpect(MockMvcResultMatchers.status().isOk())
                 .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "\"7\""))
+                .andExpect(MockMvcResultMatchers.header().string("Cache-Control", "no-cache"))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.size()", CoreMatchers.is(listOfEmployees.size()))); //  $ --> []
 
     }
 
+    // JUnit test for keyset paginated employees
+    @DisplayName("JUnit test for keyset paginated employees")
+    @Test
+    public void givenCursorAndSize_whenGetEmployeesPage_thenReturnPage() throws Exception {
+        // given ->  precondition or setup
+        List<Employee> listOfEmployees = new ArrayList<>();
+        listOfEmployees.add(Employee.builder().id(11L).firstName("Golam Rabbani").lastName("Rishad").email("gr.rishad@gmail.com").build());
+        listOfEmployees.add(Employee.builder().id(12L).firstName("Sultan").lastName("Mahmud").email("sultan@gmail.com").build());
+
+        BDDMockito.given(employeeService.getEmployeesPage(10L, 2)).willReturn(new EmployeePage(views(listOfEmployees), 12L));
+
+        // when -> action or the behavior that we are testing
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees")
+                .param("cursor", "10")
+                .param("size", "2"));
+
+        // then -> verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.size()", CoreMatchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor", CoreMatchers.is(12)));
+    }
+
+    // JUnit test for multi-get REST API
+    @DisplayName("JUnit test for multi-get REST API")
+    @Test
+    public void givenListOfIds_whenGetEmployeesByIds_thenReturnEmployees() throws Exception {
+        // given ->  precondition or setup
+        List<Employee> listOfEmployees = new ArrayList<>();
+        listOfEmployees.add(Employee.builder().id(2L).firstName("Sultan").lastName("Mahmud").email("sultan@gmail.com").build());
+        listOfEmployees.add(Employee.builder().id(1L).firstName("Golam Rabbani").lastName("Rishad").email("gr.rishad@gmail.com").build());
+        BDDMockito.given(employeeService.getEmployeesByIds(List.of(2L, 1L, 3L))).willReturn(views(listOfEmployees));
+
+        // when -> action or the behavior that we are testing
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees").param("ids", "2,1,3"));
+
+        // then -> verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()", CoreMatchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id", CoreMatchers.is(2)));
+    }
+
+    // JUnit test for name prefix search REST API
+    @DisplayName("JUnit test for name prefix search REST API")
+    @Test
+    public void givenNamePrefix_whenSearchByName_thenReturnSummaries() throws Exception {
+        // given ->  precondition or setup
+        BDDMockito.given(employeeService.searchByName("Ris", "Go", 20))
+                .willReturn(List.of(new EmployeeSummary(1L, "Golam Rabbani", "Rishad", "gr.rishad@gmail.com")));
+
+        // when -> action or the behavior that we are testing
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/by-name")
+                .param("lastName", "Ris")
+                .param("firstName", "Go"));
+
+        // then -> verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].lastName", CoreMatchers.is("Rishad")));
+    }
+
+    // JUnit test for full-text search REST API
+    @DisplayName("JUnit test for full-text search REST API")
+    @Test
+    public void givenQuery_whenSearchEmployees_thenReturnRankedSummaries() throws Exception {
+        // given ->  precondition or setup
+        BDDMockito.given(employeeService.searchEmployees("rish", 5))
+                .willReturn(Optional.of(List.of(new EmployeeSummary(1L, "Golam Rabbani", "Rishad", "gr.rishad@gmail.com"))));
+
+        // when -> action or the behavior that we are testing
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/search")
+                .param("q", "rish")
+                .param("limit", "5"));
+
+        // then -> verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].email", CoreMatchers.is("gr.rishad@gmail.com")));
+    }
+
+    // JUnit test for full-text search REST API while the index is built
+    @DisplayName("JUnit test for full-text search REST API while the index is built")
+    @Test
+    public void givenIndexNotReady_whenSearchEmployees_thenReturn503() throws Exception {
+        // given ->  precondition or setup
+        BDDMockito.given(employeeService.searchEmployees("rish", 20)).willReturn(Optional.empty());
+
+        // when -> action or the behavior that we are testing
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/search").param("q", "rish"));
+
+        // then -> verify the output
+        response.andExpect(MockMvcResultMatchers.status().isServiceUnavailable())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
+    // JUnit test for streaming all employees as NDJSON
+    @DisplayName("JUnit test for streaming all employees as NDJSON")
+    @Test
+    public void givenListOfEmployees_whenStreamAllEmployees_thenReturnOneLinePerEmployee() throws Exception {
+        // given ->  precondition or setup
+        List<Employee> listOfEmployees = new ArrayList<>();
+        listOfEmployees.add(Employee.builder().firstName("Golam Rabbani").lastName("Rishad").email("gr.rishad@gmail.com").build());
+        listOfEmployees.add(Employee.builder().firstName("Sultan").lastName("Mahmud").email("sultan@gmail.com").build());
+
+        BDDMockito.willAnswer(invocation -> {
+            Consumer<Employee> consumer = invocation.getArgument(0);
+            listOfEmployees.forEach(consumer);
+            return null;
+        }).given(employeeService).streamAllEmployees(ArgumentMatchers.any());
+
+        // when -> action or the behavior that we are testing
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/stream"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result));
+
+        // then -> verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(result1 -> Assertions.assertThat(result1.getResponse().getContentAsString().split("\n"))
+                        .hasSize(2));
+    }
+
     // positive scenario - valid employee id
     // JUnit test for getEmployeeById REST API
     @DisplayName("JUnit test for getEmployeeById REST API - positive scenario")
@@ -98,7 +282,7 @@ public class EmployeeControllerTest {
                 .lastName("Rishad")
                 .email("gr.rishad@gmail.com")
                 .build();
-        BDDMockito.given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(employee));
+        BDDMockito.given(employeeService.getEmployeeViewById(employeeId)).willReturn(Optional.of(EmployeeView.of(employee)));
 
         // when -> action or the behavior that we are testing
         ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/{id}", employeeId));
@@ -106,6 +290,7 @@ public class EmployeeControllerTest {
         // then -> verify the output
         response.andExpect(MockMvcResultMatchers.status().isOk())
                 .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "\"0\""))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.firstName", CoreMatchers.is(employee.getFirstName())))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.lastName", CoreMatchers.is(employee.getLastName())))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.email", CoreMatchers.is(employee.getEmail())));
@@ -123,7 +308,7 @@ public class EmployeeControllerTest {
                 .lastName("Rishad")
                 .email("gr.rishad@gmail.com")
                 .build();
-        BDDMockito.given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.empty());
+        BDDMockito.given(employeeService.getEmployeeViewById(employeeId)).willReturn(Optional.empty());
 
         // when -> action or the behavior that we are testing
         ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/{id}", employeeId));
@@ -151,9 +336,9 @@ public class EmployeeControllerTest {
                 .email("sultan@gmail.com")
                 .build();
 
-        BDDMockito.given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(savedEmployee));
-        BDDMockito.given(employeeService.updateEmployee(ArgumentMatchers.any(Employee.class)))
-                .willAnswer((invocationOnMock -> invocationOnMock.getArgument(0)));
+        BDDMockito.given(employeeService.updateEmployee(ArgumentMatchers.eq(employeeId), ArgumentMatchers.any(Employee.class),
+                        ArgumentMatchers.isNull()))
+                .willAnswer((invocationOnMock -> Optional.of(invocationOnMock.getArgument(1))));
 
         // when -> action or the behavior that we are testing
         ResultActions response = mockMvc.perform(MockMvcRequestBuilders.put("/api/employees/{id}", employeeId)
@@ -186,9 +371,9 @@ public class EmployeeControllerTest {
                 .email("sultan@gmail.com")
                 .build();
 
-        BDDMockito.given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.empty());
-        BDDMockito.given(employeeService.updateEmployee(ArgumentMatchers.any(Employee.class)))
-                .willAnswer((invocationOnMock -> invocationOnMock.getArgument(0)));
+        BDDMockito.given(employeeService.updateEmployee(ArgumentMatchers.eq(employeeId), ArgumentMatchers.any(Employee.class),
+                        ArgumentMatchers.isNull()))
+                .willReturn(Optional.empty());
 
         // when -> action or the behavior that we are testing
         ResultActions response = mockMvc.perform(MockMvcRequestBuilders.put("/api/employees/{id}", employeeId)
@@ -203,17 +388,217 @@ public class EmployeeControllerTest {
     // JUnit test for delete Employee REST API
     @DisplayName("JUnit test for delete Employee REST API")
     @Test
-    public void givenEmployeeId_whenDeleteEmployee_thenReturn200() throws Exception {
+    public void givenEmployeeId_whenDeleteEmployee_thenReturn204() throws Exception {
         // given ->  precondition or setup
         long employeeId = 1L;
-        BDDMockito.willDoNothing().given(employeeService).deleteEmployee(employeeId);
+        BDDMockito.given(employeeService.deleteEmployee(employeeId)).willReturn(true);
 
         // when -> action or the behavior that we are testing
         ResultActions response = mockMvc.perform(MockMvcRequestBuilders.delete("/api/employees/{iid}", employeeId));
 
+        // then -> verify the output
+        response.andExpect(MockMvcResultMatchers.status().isNoContent())
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    // JUnit test for delete Employee REST API with an unknown id
+    @DisplayName("JUnit test for delete Employee REST API with an unknown id")
+    @Test
+    public void givenUnknownEmployeeId_whenDeleteEmployee_thenReturn404() throws Exception {
+        // given ->  precondition or setup
+        long employeeId = 1L;
+        BDDMockito.given(employeeService.deleteEmployee(employeeId)).willReturn(false);
+
+        // when -> action or the behavior that we are testing
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.delete("/api/employees/{id}", employeeId));
+
+        // then -> verify the output
+        response.andExpect(MockMvcResultMatchers.status().isNotFound())
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    // JUnit test for purging employees by email domain
+    @DisplayName("JUnit test for purging employees by email domain")
+    @Test
+    public void givenEmailDomain_whenPurgeEmployees_thenReturnDeletedCount() throws Exception {
+        // given ->  precondition or setup
+        BDDMockito.given(employeeService.purgeEmployeesByEmailDomain("example.com")).willReturn(3L);
+
+        // when -> action or the behavior that we are testing
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.delete("/api/employees")
+                .param("emailDomain", "example.com"));
+
         // then -> verify the output
         response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.deleted", CoreMatchers.is(3)));
+    }
+
+    // JUnit test for purging employees by an email domain with LIKE wildcards
+    @DisplayName("JUnit test for purging employees by an email domain with LIKE wildcards")
+    @Test
+    public void givenWildcardEmailDomain_whenPurgeEmployees_thenReturn400() throws Exception {
+        // when -> action or the behavior that we are testing
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.delete("/api/employees")
+                .param("emailDomain", "%"));
+
+        // then -> verify the output
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest());
+        BDDMockito.verifyNoInteractions(employeeService);
+    }
+
+    // JUnit test for patchEmployee API with If-Match
+    @DisplayName("JUnit test for patchEmployee API with If-Match")
+    @Test
+    public void givenMatchingVersion_whenPatchEmployee_thenReturn204WithNewETag() throws Exception {
+        // given ->  precondition or setup
+        long employeeId = 1L;
+        BDDMockito.given(employeeService.patchEmployee(ArgumentMatchers.eq(employeeId), ArgumentMatchers.any(Employee.class),
+                ArgumentMatchers.eq(3L))).willReturn(true);
+
+        // when -> action or the behavior that we are testing
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.patch("/api/employees/{id}", employeeId)
+                .header("If-Match", "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"Sultan\"}"));
+
+        // then -> verify the output
+        response.andExpect(MockMvcResultMatchers.status().isNoContent())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "\"4\""));
+    }
+
+    // JUnit test for patchEmployee API with a stale version
+    @DisplayName("JUnit test for patchEmployee API with a stale version")
+    @Test
+    public void givenStaleVersion_whenPatchEmployee_thenReturn412() throws Exception {
+        // given ->  precondition or setup
+        long employeeId = 1L;
+        BDDMockito.given(employeeService.patchEmployee(ArgumentMatchers.eq(employeeId), ArgumentMatchers.any(Employee.class),
+                ArgumentMatchers.eq(3L))).willThrow(new OptimisticLockingFailureException("stale"));
+
+        // when -> action or the behavior that we are testing
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.patch("/api/employees/{id}", employeeId)
+                .header("If-Match", "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"Sultan\"}"));
+
+        // then -> verify the output
+        response.andExpect(MockMvcResultMatchers.status().isPreconditionFailed())
                 .andDo(MockMvcResultHandlers.print());
     }
 
+    // JUnit test for async getEmployeeById REST API
+    @DisplayName("JUnit test for async getEmployeeById REST API")
+    @Test
+    public void givenEmployeeId_whenGetEmployeeByIdAsync_thenReturnEmployeeObject() throws Exception {
+        // given ->  precondition or setup
+        long employeeId = 1L;
+        Employee employee = Employee.builder()
+                .firstName("Golam Rabbani")
+                .lastName("Rishad")
+                .email("gr.rishad@gmail.com")
+                .build();
+        BDDMockito.given(employeeAsyncService.getEmployeeById(employeeId))
+                .willReturn(CompletableFuture.completedFuture(Optional.of(EmployeeView.of(employee))));
+
+        // when -> action or the behavior that we are testing
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/async/{id}", employeeId))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result));
+
+        // then -> verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.email", CoreMatchers.is(employee.getEmail())));
+    }
+
+    // JUnit test for async REST API when the executor is saturated
+    @DisplayName("JUnit test for async REST API when the executor is saturated")
+    @Test
+    public void givenSaturatedExecutor_whenGetEmployeesByIdsAsync_thenReturn503() throws Exception {
+        // given ->  precondition or setup
+        BDDMockito.given(employeeAsyncService.getEmployeesByIds(List.of(1L, 2L)))
+                .willReturn(CompletableFuture.failedFuture(new RejectedExecutionException("queue full")));
+
+        // when -> action or the behavior that we are testing
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/async").param("ids", "1,2"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result));
+
+        // then -> verify the output
+        response.andExpect(MockMvcResultMatchers.status().isServiceUnavailable())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.header().string("Retry-After", "1"));
+    }
+
+    // JUnit test for the Smile content negotiation of getAll employees
+    @DisplayName("JUnit test for getAll employees as Smile")
+    @Test
+    public void givenSmileAccept_whenGetAllEmployees_thenReturnSmileEncodedList() throws Exception {
+        // given ->  precondition or setup
+        List<Employee> listOfEmployees = List.of(
+                Employee.builder().id(1L).firstName("Golam Rabbani").lastName("Rishad").email("gr.rishad@gmail.com").version(2).build(),
+                Employee.builder().id(2L).firstName("Sultan").lastName("Mahmud").email("sultan@gmail.com").build());
+        BDDMockito.given(employeeService.getAllEmployeesWithVersion()).willReturn(new VersionedEmployeeList("1", views(listOfEmployees)));
+
+        // when -> action or the behavior that we are testing
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees").accept("application/x-jackson-smile"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("application/x-jackson-smile"))
+                .andReturn();
+
+        // then -> verify the output
+        List<Employee> employees = new SmileMapper().readValue(result.getResponse().getContentAsByteArray(),
+                new TypeReference<List<Employee>>() {
+                });
+        Assertions.assertThat(employees).usingRecursiveFieldByFieldElementComparator().isEqualTo(listOfEmployees);
+        // clients that accept anything still get JSON
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/employees").accept(MediaType.ALL))
+                .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    // JUnit test for a conditional getEmployeeById with the current version
+    @DisplayName("JUnit test for getEmployeeById REST API - not modified")
+    @Test
+    public void givenCurrentETag_whenGetEmployeeById_thenReturn304WithoutLoading() throws Exception {
+        // given ->  precondition or setup
+        BDDMockito.given(employeeService.getEmployeeVersion(1L)).willReturn(Optional.of(3L));
+
+        // when -> action or the behavior that we are testing
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/{id}", 1L)
+                .header("If-None-Match", "\"2\", W/\"3\""));
+
+        // then -> verify the output
+        response.andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "\"3\""))
+                .andExpect(MockMvcResultMatchers.header().string("Cache-Control", "no-cache"))
+                .andExpect(MockMvcResultMatchers.content().string(""));
+        Mockito.verify(employeeService, Mockito.never()).getEmployeeViewById(ArgumentMatchers.anyLong());
+    }
+
+    // JUnit test for a conditional getAll employees after a write
+    @DisplayName("JUnit test for getAll employees - modified and not modified")
+    @Test
+    public void givenCollectionETag_whenGetAllEmployees_thenReturn304OnlyWhileUnchanged() throws Exception {
+        // given ->  precondition or setup
+        BDDMockito.given(employeeService.getEmployeesVersion()).willReturn("5");
+        BDDMockito.given(employeeService.getAllEmployeesWithVersion()).willReturn(new VersionedEmployeeList("5", List.of()));
+
+        // when -> action or the behavior that we are testing
+        ResultActions unchanged = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees").header("If-None-Match", "\"5\""));
+        ResultActions changed = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees").header("If-None-Match", "\"4\""));
+
+        // then -> verify the output
+        unchanged.andExpect(MockMvcResultMatchers.status().isNotModified());
+        changed.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "\"5\""));
+        Mockito.verify(employeeService, Mockito.times(1)).getAllEmployeesWithVersion();
+    }
+
+    private static List<EmployeeView> views(List<Employee> employees) {
+        return employees.stream().map(EmployeeView::of).toList();
+    }
 }
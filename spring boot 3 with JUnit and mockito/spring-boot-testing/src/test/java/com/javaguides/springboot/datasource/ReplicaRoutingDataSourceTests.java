@@ -0,0 +1,88 @@
+package com.javaguides.springboot.datasource;
+
+import com.javaguides.springboot.datasource.ReplicaRoutingProperties.LoadBalancing;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+
+public class ReplicaRoutingDataSourceTests {
+
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReplicaRoutingDataSource routingDataSource;
+
+    private static HikariDataSource pool(String url, long connectionTimeout) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(url);
+        pool.setUsername("sa");
+        pool.setPassword("");
+        pool.setConnectionTimeout(connectionTimeout);
+        pool.setInitializationFailTimeout(-1);
+        return pool;
+    }
+
+    private static String databaseOf(Connection connection) throws Exception {
+        try (Connection c = connection) {
+            return c.getMetaData().getURL();
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        routingDataSource.close();
+    }
+
+    // JUnit test for routing read-only connections round robin over the replicas
+    @DisplayName("JUnit test for routing read-only connections round robin over the replicas")
+    @Test
+    public void givenTwoReplicas_whenGetConnection_thenReadsAlternateAndWritesUsePrimary() throws Exception {
+        // given ->  precondition or setup
+        routingDataSource = new ReplicaRoutingDataSource(pool("jdbc:h2:mem:rr-primary", 1000),
+                List.of(pool("jdbc:h2:mem:rr-replica-0", 1000), pool("jdbc:h2:mem:rr-replica-1", 1000)),
+                LoadBalancing.ROUND_ROBIN, Duration.ofSeconds(30), meterRegistry);
+
+        // when -> action or the behavior that we are testing
+        String write = databaseOf(routingDataSource.getConnection());
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        String firstRead = databaseOf(routingDataSource.getConnection());
+        String secondRead = databaseOf(routingDataSource.getConnection());
+
+        // then -> verify the output
+        Assertions.assertThat(write).contains("rr-primary");
+        Assertions.assertThat(List.of(firstRead, secondRead))
+                .anyMatch(url -> url.contains("rr-replica-0"))
+                .anyMatch(url -> url.contains("rr-replica-1"));
+    }
+
+    // JUnit test for falling back to the primary when the replica is down
+    @DisplayName("JUnit test for falling back to the primary when the replica is down")
+    @Test
+    public void givenUnreachableReplica_whenGetReadOnlyConnection_thenFallBackToPrimaryAndSkipReplica() throws Exception {
+        // given ->  precondition or setup
+        routingDataSource = new ReplicaRoutingDataSource(pool("jdbc:h2:mem:fb-primary", 1000),
+                List.of(pool("jdbc:h2:tcp://localhost:1/unreachable", 250)),
+                LoadBalancing.ROUND_ROBIN, Duration.ofMinutes(1), meterRegistry);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // when -> action or the behavior that we are testing
+        String firstRead = databaseOf(routingDataSource.getConnection());
+        long start = System.nanoTime();
+        String secondRead = databaseOf(routingDataSource.getConnection());
+        long secondReadMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // then -> verify the output
+        Assertions.assertThat(firstRead).contains("fb-primary");
+        Assertions.assertThat(secondRead).contains("fb-primary");
+        // the replica is in its cooldown, so the second read doesn't wait for the connection timeout again
+        Assertions.assertThat(secondReadMillis).isLessThan(250);
+        Assertions.assertThat(meterRegistry.get("employee.datasource.replica.fallbacks").counter().count()).isEqualTo(2);
+    }
+}
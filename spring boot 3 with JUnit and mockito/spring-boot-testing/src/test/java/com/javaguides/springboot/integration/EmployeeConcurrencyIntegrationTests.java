@@ -0,0 +1,119 @@
+package com.javaguides.springboot.integration;
+
+import com.javaguides.springboot.exception.ResourceNotFundException;
+import com.javaguides.springboot.model.Employee;
+import com.javaguides.springboot.repository.EmployeeRepository;
+import com.javaguides.springboot.service.EmployeeService;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@AutoConfigureTestDatabase
+public class EmployeeConcurrencyIntegrationTests {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setup() {
+        employeeRepository.deleteAll();
+    }
+
+    @DisplayName("Parallel creates with the same email: exactly one succeeds")
+    @Test
+    public void givenCollidingEmails_whenSaveEmployeeInParallel_thenOnlyOneSucceeds() throws Exception {
+
+        // given -- precondition or setup
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            int n = i;
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    employeeService.saveEmployee(Employee.builder()
+                            .firstName("Golam Rabbani " + n)
+                            .lastName("Rishad")
+                            .email("gr.rishad@gmail.com")
+                            .build());
+                    return true;
+                } catch (ResourceNotFundException e) {
+                    return false;
+                }
+            }));
+        }
+
+        // when -- action or behavior that we are going to test
+        start.countDown();
+        int succeeded = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) {
+                succeeded++;
+            }
+        }
+        executor.shutdown();
+
+        // then - verify the result or output using assert statements
+        Assertions.assertThat(succeeded).isEqualTo(1);
+        Assertions.assertThat(employeeRepository.count()).isEqualTo(1);
+    }
+
+    @DisplayName("A read between an update and its commit: the cache serves the committed update afterwards")
+    @Test
+    public void givenReadBeforeCommit_whenUpdateEmployeeCommits_thenCacheHoldsUpdatedEmployee() throws Exception {
+
+        // given -- precondition or setup
+        Employee employee = employeeService.saveEmployee(Employee.builder()
+                .firstName("Golam Rabbani")
+                .lastName("Rishad")
+                .email("gr.rishad@gmail.com")
+                .build());
+        employeeService.getEmployeeById(employee.getId());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // when -- action or behavior that we are going to test
+        String readBeforeCommit = new TransactionTemplate(transactionManager).execute(status -> {
+            employeeService.updateEmployee(Employee.builder()
+                    .id(employee.getId())
+                    .firstName("Shakib")
+                    .lastName("Rishad")
+                    .email("gr.rishad@gmail.com")
+                    .version(employee.getVersion())
+                    .build());
+            // another request, in a transaction of its own, still sees the committed row and caches it
+            try {
+                return executor.submit(() -> employeeService.getEmployeeById(employee.getId()).get().getFirstName()).get();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        executor.shutdown();
+
+        // then - verify the result or output using assert statements
+        Assertions.assertThat(readBeforeCommit).isEqualTo("Golam Rabbani");
+        Assertions.assertThat(employeeService.getEmployeeById(employee.getId()).get().getFirstName()).isEqualTo("Shakib");
+        Assertions.assertThat(employeeService.getEmployeeViewById(employee.getId()).get().version())
+                .isEqualTo(employee.getVersion() + 1);
+    }
+}
@@ -0,0 +1,91 @@
+package com.javaguides.springboot.integration;
+
+import com.javaguides.springboot.model.Employee;
+import com.javaguides.springboot.repository.EmployeeRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+// fetch size 1 so that every row is its own cursor round trip
+@SpringBootTest(properties = "employee.export.fetch-size=1")
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+public class EmployeeExportIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private List<Employee> employees;
+
+    @BeforeEach
+    public void setup() {
+        employeeRepository.deleteAll();
+        employees = employeeRepository.saveAll(List.of(
+                Employee.builder().firstName("Golam Rabbani").lastName("Rishad").email("gr.rishad@gmail.com").build(),
+                Employee.builder().firstName("Sultan, \"Jr\"").lastName("Mahmud").email("sultan@gmail.com").build()));
+    }
+
+    // JUnit test for CSV export REST API
+    @DisplayName("JUnit test for CSV export REST API")
+    @Test
+    public void givenEmployees_whenExportCsv_thenReturnHeaderAndOneQuotedLinePerEmployee() throws Exception {
+        // given ->  precondition or setup
+        String expected = "id,firstName,lastName,email\n"
+                + employees.get(0).getId() + ",Golam Rabbani,Rishad,gr.rishad@gmail.com\n"
+                + employees.get(1).getId() + ",\"Sultan, \"\"Jr\"\"\",Mahmud,sultan@gmail.com\n";
+
+        // when -> action or the behavior that we are testing
+        String body = export("/api/employees/export?format=csv");
+
+        // then -> verify the output
+        Assertions.assertThat(body).isEqualTo(expected);
+    }
+
+    // JUnit test for gzipped NDJSON export REST API
+    @DisplayName("JUnit test for gzipped NDJSON export REST API")
+    @Test
+    public void givenEmployees_whenExportNdjsonGzip_thenReturnCompressedLines() throws Exception {
+        // given ->  precondition or setup
+        MvcResult started = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/export?format=ndjson&gzip=true"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        // when -> action or the behavior that we are testing
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(started))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("Content-Encoding", "gzip"))
+                .andReturn();
+        byte[] json = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray())).readAllBytes();
+
+        // then -> verify the output
+        List<String> lines = new String(json, StandardCharsets.UTF_8).lines().toList();
+        Assertions.assertThat(lines).hasSize(2);
+        Assertions.assertThat(lines.get(1)).isEqualTo("{\"id\":" + employees.get(1).getId()
+                + ",\"firstName\":\"Sultan, \\\"Jr\\\"\",\"lastName\":\"Mahmud\",\"email\":\"sultan@gmail.com\"}");
+    }
+
+    private String export(String url) throws Exception {
+        MvcResult started = mockMvc.perform(MockMvcRequestBuilders.get(url))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(started))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,138 @@
+package com.javaguides.springboot.integration;
+
+import com.javaguides.springboot.model.Employee;
+import com.javaguides.springboot.model.EmployeeChange;
+import com.javaguides.springboot.outbox.EmployeeOutbox;
+import com.javaguides.springboot.repository.EmployeeChangeRepository;
+import com.javaguides.springboot.service.EmployeeService;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+public class EmployeeHttpCachingIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private EmployeeChangeRepository employeeChangeRepository;
+    @Autowired
+    private EmployeeOutbox employeeOutbox;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // JUnit test for the collection ETag following the writes
+    @DisplayName("JUnit test for the collection ETag following the writes")
+    @Test
+    public void givenCollectionETag_whenEmployeeWritten_thenETagChanges() throws Exception {
+        // given ->  precondition or setup
+        Employee employee = employeeService.saveEmployee(Employee.builder()
+                .firstName("Golam Rabbani").lastName("Rishad").email("etag@gmail.com").build());
+        String eTag = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        String employeeETag = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/{id}", employee.getId()))
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/employees").header("If-None-Match", eTag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified());
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/{id}", employee.getId()).header("If-None-Match", employeeETag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified());
+
+        // when -> action or the behavior that we are testing
+        employee.setFirstName("Rabbani");
+        employeeService.updateEmployee(employee);
+
+        // then -> verify the output
+        String newETag = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees").header("If-None-Match", eTag))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        Assertions.assertThat(newETag).isNotEqualTo(eTag);
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/{id}", employee.getId()).header("If-None-Match", employeeETag))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.firstName").value("Rabbani"));
+    }
+
+    // JUnit test for the collection ETag after the retention cleanup of the change events
+    @DisplayName("JUnit test for the collection ETag after the retention cleanup of the change events")
+    @Test
+    public void givenCollectionETags_whenChangesPruned_thenNewestChangeKeptAndETagsNotRepeated() throws Exception {
+        // given ->  precondition or setup
+        employeeService.saveEmployee(Employee.builder()
+                .firstName("Sultan").lastName("Mahmud").email("etag.pruned@gmail.com").build());
+        String firstETag = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees"))
+                .andReturn().getResponse().getHeader("ETag");
+        employeeService.saveEmployee(Employee.builder()
+                .firstName("Tamim").lastName("Iqbal").email("etag.before.prune@gmail.com").build());
+        String secondETag = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees"))
+                .andReturn().getResponse().getHeader("ETag");
+        long newest = employeeChangeRepository.findMaxSequence();
+
+        // when -> action or the behavior that we are testing
+        // what the retention cleanup of the outbox does once every change is relayed and expired
+        employeeChangeRepository.markPublished(employeeChangeRepository.findAll().stream().map(EmployeeChange::getSequence).toList());
+        employeeChangeRepository.deletePublishedBefore(Instant.now().plusSeconds(60), employeeChangeRepository.findMaxSequence());
+
+        // then -> verify the output
+        Assertions.assertThat(employeeChangeRepository.findAll()).extracting(EmployeeChange::getSequence).containsExactly(newest);
+        employeeService.saveEmployee(Employee.builder()
+                .firstName("Mushfiqur").lastName("Rahim").email("etag.after.prune@gmail.com").build());
+        String newETag = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees").header("If-None-Match", secondETag))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        Assertions.assertThat(newETag).isNotIn(firstETag, secondETag);
+    }
+
+    // JUnit test for the collection ETag seeing a change that commits after one with a higher sequence
+    @DisplayName("JUnit test for the collection ETag seeing a change that commits after one with a higher sequence")
+    @Test
+    public void givenCollectionETag_whenLowerSequenceCommitsLate_thenETagChanges() throws Exception {
+        // given ->  precondition or setup
+        Employee employee = employeeService.saveEmployee(Employee.builder()
+                .firstName("Liton").lastName("Das").email("etag.late@gmail.com").build());
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CountDownLatch recorded = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> lateWrite = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            employeeOutbox.record(EmployeeChange.Type.UPDATED, employee.getId());
+            recorded.countDown();
+            try {
+                commit.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        recorded.await();
+        transactionTemplate.executeWithoutResult(status -> employeeOutbox.record(EmployeeChange.Type.UPDATED, employee.getId()));
+        String eTag = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // when -> action or the behavior that we are testing
+        commit.countDown();
+        lateWrite.get();
+        executor.shutdown();
+
+        // then -> verify the output
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/employees").header("If-None-Match", eTag))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+    }
+}
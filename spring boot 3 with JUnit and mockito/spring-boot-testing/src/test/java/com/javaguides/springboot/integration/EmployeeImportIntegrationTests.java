@@ -0,0 +1,124 @@
+package com.javaguides.springboot.integration;
+
+import com.javaguides.springboot.dto.ImportReport;
+import com.javaguides.springboot.model.Employee;
+import com.javaguides.springboot.repository.EmployeeRepository;
+import com.javaguides.springboot.service.EmployeeFileFormat;
+import com.javaguides.springboot.service.EmployeeImportService;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+// batch size 2 so that the files below span several chunks
+@SpringBootTest(properties = {"employee.batch.size=2", "employee.import.max-errors=2"})
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+public class EmployeeImportIntegrationTests {
+
+    @Autowired
+    private EmployeeImportService employeeImportService;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setup() {
+        employeeRepository.deleteAll();
+    }
+
+    // JUnit test for CSV import with invalid and duplicate rows
+    @DisplayName("JUnit test for CSV import with invalid and duplicate rows")
+    @Test
+    public void givenCsvWithBadRows_whenImportEmployees_thenImportValidRowsAndReportErrors() {
+        // given ->  precondition or setup
+        employeeRepository.save(Employee.builder().firstName("Tamim").lastName("Iqbal").email("t@gmail.com").build());
+        String csv = """
+                email,first_name,last_name
+                gr.rishad@gmail.com,Golam Rabbani,Rishad
+                t@gmail.com,Tamim,Iqbal
+                sultan@gmail.com,"Mahmud, Sultan",Mahmud
+                ,No,Email
+                gr.rishad@gmail.com,Golam,Again
+                "broken,Quote,Row
+                """;
+
+        // when -> action or the behavior that we are testing
+        ImportReport report = employeeImportService.importEmployees(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), EmployeeFileFormat.CSV);
+
+        // then -> verify the output
+        Assertions.assertThat(report.getRows()).isEqualTo(6);
+        Assertions.assertThat(report.getImported()).isEqualTo(2);
+        Assertions.assertThat(report.getDuplicates()).isEqualTo(2);
+        Assertions.assertThat(report.getInvalid()).isEqualTo(2);
+        Assertions.assertThat(report.getErrors()).hasSize(2);
+        Assertions.assertThat(report.getErrors().get(0).getLine()).isEqualTo(3);
+        Assertions.assertThat(report.isErrorsTruncated()).isTrue();
+        Assertions.assertThat(employeeRepository.count()).isEqualTo(3);
+        Assertions.assertThat(employeeRepository.findByEmail("sultan@gmail.com").get().getFirstName())
+                .isEqualTo("Mahmud, Sultan");
+    }
+
+    // JUnit test for CSV import with a row the database rejects for another reason than its email
+    @DisplayName("JUnit test for CSV import with a row the database rejects for another reason than its email")
+    @Test
+    public void givenCsvWithTooLongValue_whenImportEmployees_thenReportRowAsInvalid() {
+        // given ->  precondition or setup
+        String csv = "email,first_name,last_name\n"
+                + "gr.rishad@gmail.com,Golam Rabbani,Rishad\n"
+                + "t@gmail.com," + "T".repeat(300) + ",Iqbal\n"
+                + "sultan@gmail.com,Sultan,Mahmud\n";
+
+        // when -> action or the behavior that we are testing
+        ImportReport report = employeeImportService.importEmployees(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), EmployeeFileFormat.CSV);
+
+        // then -> verify the output
+        Assertions.assertThat(report.getImported()).isEqualTo(2);
+        Assertions.assertThat(report.getDuplicates()).isZero();
+        Assertions.assertThat(report.getInvalid()).isEqualTo(1);
+        Assertions.assertThat(report.getErrors().get(0).getLine()).isEqualTo(3);
+        Assertions.assertThat(report.getErrors().get(0).getMessage())
+                .startsWith("Rejected by the database")
+                .doesNotContain("already exist");
+        Assertions.assertThat(employeeRepository.count()).isEqualTo(2);
+    }
+
+    // JUnit test for NDJSON import REST API
+    @DisplayName("JUnit test for NDJSON import REST API")
+    @Test
+    public void givenNdjsonBody_whenPostImport_thenReturnReport() throws Exception {
+        // given ->  precondition or setup
+        String ndjson = """
+                {"firstName":"Golam Rabbani","lastName":"Rishad","email":"gr.rishad@gmail.com"}
+                {"firstName":"Tamim","lastName":"Iqbal","email":"t@gmail.com"}
+                {"firstName":"Sultan","lastName":"Mahmud","email":"sultan@gmail.com"}
+                not json
+                """;
+
+        // when -> action or the behavior that we are testing
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/employees/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+
+                // then -> verify the output
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.imported").value(3))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.invalid").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[0].line").value(4));
+        Assertions.assertThat(employeeRepository.count()).isEqualTo(3);
+    }
+}
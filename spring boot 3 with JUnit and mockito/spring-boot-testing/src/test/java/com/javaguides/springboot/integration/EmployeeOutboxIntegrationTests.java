@@ -0,0 +1,267 @@
+package com.javaguides.springboot.integration;
+
+import com.javaguides.springboot.exception.ResourceNotFundException;
+import com.javaguides.springboot.model.Employee;
+import com.javaguides.springboot.model.EmployeeChange;
+import com.javaguides.springboot.outbox.EmployeeChangeRelay;
+import com.javaguides.springboot.outbox.EmployeeOutbox;
+import com.javaguides.springboot.outbox.InMemoryEmployeeChangePublisher;
+import com.javaguides.springboot.repository.EmployeeChangeRepository;
+import com.javaguides.springboot.repository.EmployeeRepository;
+import com.javaguides.springboot.service.EmployeeService;
+import org.assertj.core.api.Assertions;
+import org.hamcrest.CoreMatchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// the scheduled relay is slowed down so that the test decides when changes are relayed
+@SpringBootTest(properties = "employee.outbox.relay.interval-ms=3600000")
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+public class EmployeeOutboxIntegrationTests {
+
+    @TestConfiguration
+    static class InMemoryPublisherConfig {
+
+        @Bean
+        InMemoryEmployeeChangePublisher inMemoryEmployeeChangePublisher() {
+            return new InMemoryEmployeeChangePublisher();
+        }
+    }
+
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EmployeeChangeRepository employeeChangeRepository;
+    @Autowired
+    private EmployeeChangeRelay employeeChangeRelay;
+    @Autowired
+    private InMemoryEmployeeChangePublisher publisher;
+    @Autowired
+    private EmployeeOutbox employeeOutbox;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setup() {
+        employeeRepository.deleteAll();
+        employeeChangeRelay.relay();
+        employeeChangeRepository.deleteAll();
+        publisher.clear();
+    }
+
+    // JUnit test for outbox events of create, update and delete
+    @DisplayName("JUnit test for outbox events of create, update and delete")
+    @Test
+    public void givenMutations_whenGetChangesAndRelay_thenReturnEventsInOrder() throws Exception {
+        // given ->  precondition or setup
+        Employee employee = employeeService.saveEmployee(Employee.builder()
+                .firstName("Golam Rabbani")
+                .lastName("Rishad")
+                .email("gr.rishad@gmail.com")
+                .build());
+        employee.setFirstName("Rabbani");
+        employeeService.updateEmployee(employee);
+        employeeService.deleteEmployee(employee.getId());
+
+        // when -> action or the behavior that we are testing
+        int relayed = employeeChangeRelay.relay();
+
+        // then -> verify the output
+        Assertions.assertThat(relayed).isEqualTo(3);
+        Assertions.assertThat(employeeChangeRelay.relay()).isZero();
+        Assertions.assertThat(publisher.getChanges()).extracting(EmployeeChange::getType)
+                .containsExactly(EmployeeChange.Type.CREATED, EmployeeChange.Type.UPDATED, EmployeeChange.Type.DELETED);
+        long firstSequence = publisher.getChanges().get(0).getSequence();
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/changes").param("since", Long.toString(firstSequence)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes.size()", CoreMatchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[1].type", CoreMatchers.is("DELETED")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[1].employeeId").value(employee.getId()))
+                // just written, a change with a lower sequence could still commit behind them
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextSince").value(firstSequence));
+    }
+
+    // JUnit test for nextSince stopping at the first change within the settle window
+    @DisplayName("JUnit test for nextSince stopping at the first change within the settle window")
+    @Test
+    public void givenSettledAndRecentChanges_whenGetChanges_thenNextSinceAfterSettledOnly() throws Exception {
+        // given ->  precondition or setup
+        Employee employee = employeeService.saveEmployee(Employee.builder()
+                .firstName("Golam Rabbani")
+                .lastName("Rishad")
+                .email("gr.rishad@gmail.com")
+                .build());
+        employeeService.deleteEmployee(employee.getId());
+        List<EmployeeChange> changes = employeeChangeRepository.findAll(Sort.by("sequence"));
+        EmployeeChange settled = changes.get(0);
+        settled.setOccurredAt(Instant.now().minus(Duration.ofMinutes(1)));
+        employeeChangeRepository.save(settled);
+
+        // when -> action or the behavior that we are testing
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/changes").param("since", "0"))
+
+                // then -> verify the output
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes.size()", CoreMatchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextSince").value(settled.getSequence()));
+    }
+
+    // JUnit test for the stream replaying the stored changes after since
+    @DisplayName("JUnit test for the stream replaying the stored changes after since")
+    @Test
+    public void givenStoredChanges_whenStreamSince_thenReplayedAfterResponseStarted() throws Exception {
+        // given ->  precondition or setup
+        Employee employee = employeeService.saveEmployee(Employee.builder()
+                .firstName("Golam Rabbani")
+                .lastName("Rishad")
+                .email("gr.rishad@gmail.com")
+                .build());
+        employee.setFirstName("Rabbani");
+        employeeService.updateEmployee(employee);
+        employeeService.deleteEmployee(employee.getId());
+        List<EmployeeChange> changes = employeeChangeRepository.findAll(Sort.by("sequence"));
+
+        // when -> action or the behavior that we are testing
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/changes/stream")
+                        .param("since", Long.toString(changes.get(0).getSequence())))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        // then -> verify the output
+        String lastEvent = "id:" + changes.get(2).getSequence();
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!result.getResponse().getContentAsString().contains(lastEvent) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        Assertions.assertThat(result.getResponse().getContentAsString())
+                .doesNotContain("id:" + changes.get(0).getSequence() + "\n")
+                .contains("id:" + changes.get(1).getSequence() + "\n", lastEvent + "\n");
+    }
+
+    // JUnit test for the stream pushing changes the relay of this instance hasn't published
+    @DisplayName("JUnit test for the stream pushing changes the relay of this instance hasn't published")
+    @Test
+    public void givenStreamSubscriber_whenEmployeeSaved_thenChangePushedWithoutRelay() throws Exception {
+        // given ->  precondition or setup
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/changes/stream"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        // when -> action or the behavior that we are testing
+        Employee employee = employeeService.saveEmployee(Employee.builder()
+                .firstName("Golam Rabbani")
+                .lastName("Rishad")
+                .email("gr.rishad@gmail.com")
+                .build());
+
+        // then -> verify the output
+        EmployeeChange change = employeeChangeRepository.findAll().stream()
+                .filter(recorded -> recorded.getEmployeeId() == employee.getId())
+                .findFirst().orElseThrow();
+        String event = "id:" + change.getSequence() + "\n";
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!result.getResponse().getContentAsString().contains(event) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        Assertions.assertThat(result.getResponse().getContentAsString()).containsOnlyOnce(event);
+        Assertions.assertThat(employeeChangeRepository.findById(change.getSequence()).orElseThrow().isPublished()).isFalse();
+    }
+
+    // JUnit test for the stream pushing a change that commits after one with a higher sequence
+    @DisplayName("JUnit test for the stream pushing a change that commits after one with a higher sequence")
+    @Test
+    public void givenStreamSubscriber_whenLowerSequenceCommitsLate_thenBothChangesPushed() throws Exception {
+        // given ->  precondition or setup
+        Employee employee = employeeService.saveEmployee(Employee.builder()
+                .firstName("Golam Rabbani")
+                .lastName("Rishad")
+                .email("gr.rishad@gmail.com")
+                .build());
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/changes/stream"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CountDownLatch recorded = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> lateWrite = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            employeeOutbox.record(EmployeeChange.Type.UPDATED, employee.getId());
+            recorded.countDown();
+            try {
+                commit.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        recorded.await();
+        transactionTemplate.executeWithoutResult(status -> employeeOutbox.record(EmployeeChange.Type.DELETED, employee.getId()));
+        long higher = employeeChangeRepository.findMaxSequence();
+        awaitEvent(result, higher);
+
+        // when -> action or the behavior that we are testing
+        commit.countDown();
+        lateWrite.get();
+        executor.shutdown();
+
+        // then -> verify the output
+        long lower = employeeChangeRepository.findAll().stream()
+                .filter(change -> change.getType() == EmployeeChange.Type.UPDATED)
+                .mapToLong(EmployeeChange::getSequence)
+                .max().orElseThrow();
+        Assertions.assertThat(lower).isLessThan(higher);
+        awaitEvent(result, lower);
+        Assertions.assertThat(result.getResponse().getContentAsString())
+                .containsOnlyOnce("id:" + lower + "\n")
+                .containsOnlyOnce("id:" + higher + "\n");
+    }
+
+    // JUnit test for no outbox event when the create is rolled back
+    @DisplayName("JUnit test for no outbox event when the create is rolled back")
+    @Test
+    public void givenDuplicateEmail_whenSaveEmployee_thenNoChangeRecorded() {
+        // given ->  precondition or setup
+        employeeService.saveEmployee(Employee.builder().firstName("Tamim").lastName("Iqbal").email("t@gmail.com").build());
+
+        // when -> action or the behavior that we are testing
+        org.junit.jupiter.api.Assertions.assertThrows(ResourceNotFundException.class, () -> employeeService.saveEmployee(
+                Employee.builder().firstName("Other").lastName("Tamim").email("t@gmail.com").build()));
+
+        // then -> verify the output
+        Assertions.assertThat(employeeChangeRepository.count()).isEqualTo(1);
+    }
+
+    private static void awaitEvent(MvcResult result, long sequence) throws Exception {
+        String event = "id:" + sequence + "\n";
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!result.getResponse().getContentAsString().contains(event) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.javaguides.springboot.integration;
+
+import com.javaguides.springboot.model.Employee;
+import com.javaguides.springboot.outbox.EmployeeOutbox;
+import com.javaguides.springboot.repository.EmployeeRepository;
+import com.javaguides.springboot.service.EmployeeService;
+import org.assertj.core.api.Assertions;
+import org.hamcrest.CoreMatchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// chunks of two employees, so a handful of rows already takes several transactions
+@SpringBootTest(properties = "employee.batch.size=2")
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+public class EmployeePurgeIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EmployeeOutbox employeeOutbox;
+
+    @BeforeEach
+    public void setup() {
+        employeeRepository.deleteAll();
+    }
+
+    // JUnit test for deleting one employee twice
+    @DisplayName("JUnit test for deleting one employee twice")
+    @Test
+    public void givenEmployee_whenDeletedTwice_thenNoContentThenNotFound() throws Exception {
+        // given ->  precondition or setup
+        Employee employee = employeeService.saveEmployee(employee("gr.rishad@gmail.com"));
+        String versionBefore = employeeOutbox.currentVersion();
+
+        // when -> action or the behavior that we are testing
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/employees/{id}", employee.getId()))
+                .andExpect(MockMvcResultMatchers.status().isNoContent());
+        String versionAfterDelete = employeeOutbox.currentVersion();
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/employees/{id}", employee.getId()))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+
+        // then -> verify the output
+        Assertions.assertThat(employeeRepository.existsById(employee.getId())).isFalse();
+        Assertions.assertThat(versionAfterDelete).isNotEqualTo(versionBefore);
+        Assertions.assertThat(employeeOutbox.currentVersion()).isEqualTo(versionAfterDelete);
+    }
+
+    // JUnit test for purging an email domain over several chunks
+    @DisplayName("JUnit test for purging an email domain over several chunks")
+    @Test
+    public void givenEmployeesOfTwoDomains_whenPurgeByEmailDomain_thenOnlyThatDomainDeleted() throws Exception {
+        // given ->  precondition or setup
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            employees.add(employee("purged" + i + "@example.com"));
+            employees.add(employee("kept" + i + "@gmail.com"));
+        }
+        employeeService.saveEmployees(employees);
+        String versionBefore = employeeOutbox.currentVersion();
+
+        // when -> action or the behavior that we are testing
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/employees").param("emailDomain", "example.com"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.deleted", CoreMatchers.is(5)));
+
+        // then -> verify the output
+        Assertions.assertThat(employeeRepository.findAll())
+                .extracting(Employee::getEmail)
+                .hasSize(5)
+                .allMatch(email -> email.endsWith("@gmail.com"));
+        Assertions.assertThat(employeeOutbox.currentVersion()).isNotEqualTo(versionBefore);
+    }
+
+    // JUnit test for purging by ids with unknown and repeated ids
+    @DisplayName("JUnit test for purging by ids with unknown and repeated ids")
+    @Test
+    public void givenIds_whenPurgeByIds_thenOnlyExistingCounted() throws Exception {
+        // given ->  precondition or setup
+        Employee first = employeeService.saveEmployee(employee("first@gmail.com"));
+        Employee second = employeeService.saveEmployee(employee("second@gmail.com"));
+        Employee third = employeeService.saveEmployee(employee("third@gmail.com"));
+
+        // when -> action or the behavior that we are testing
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/employees")
+                        .param("ids", first.getId() + "," + second.getId() + "," + first.getId() + ",999999"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.deleted", CoreMatchers.is(2)));
+
+        // then -> verify the output
+        Assertions.assertThat(employeeRepository.findAll()).extracting(Employee::getId).containsExactly(third.getId());
+    }
+
+    private static Employee employee(String email) {
+        return Employee.builder().firstName("Golam Rabbani").lastName("Rishad").email(email).build();
+    }
+}
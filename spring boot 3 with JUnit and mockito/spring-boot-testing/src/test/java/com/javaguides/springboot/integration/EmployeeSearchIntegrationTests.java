@@ -0,0 +1,97 @@
+package com.javaguides.springboot.integration;
+
+import com.javaguides.springboot.model.Employee;
+import com.javaguides.springboot.model.EmployeeChange;
+import com.javaguides.springboot.outbox.EmployeeOutbox;
+import com.javaguides.springboot.repository.EmployeeJdbcRepository;
+import com.javaguides.springboot.search.EmployeeSearchIndex;
+import com.javaguides.springboot.service.EmployeeService;
+import org.assertj.core.api.Assertions;
+import org.hamcrest.CoreMatchers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+public class EmployeeSearchIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private EmployeeJdbcRepository employeeJdbcRepository;
+    @Autowired
+    private EmployeeOutbox employeeOutbox;
+    @Autowired
+    private EmployeeSearchIndex employeeSearchIndex;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // JUnit test for the index following the service writes
+    @DisplayName("JUnit test for the index following the service writes")
+    @Test
+    public void givenServiceWrites_whenSearch_thenIndexIsCurrent() throws Exception {
+        // given ->  precondition or setup
+        Employee employee = employeeService.saveEmployee(Employee.builder()
+                .firstName("Zubayer").lastName("Quasem").email("zubayer.quasem@gmail.com").build());
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/search").param("q", "quas zub"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(employee.getId()));
+
+        // when -> action or the behavior that we are testing
+        employeeService.patchEmployee(employee.getId(), Employee.builder().lastName("Quayum").build(), null);
+        String afterPatch = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/search").param("q", "quayum"))
+                .andReturn().getResponse().getContentAsString();
+        employeeService.deleteEmployee(employee.getId());
+
+        // then -> verify the output
+        Assertions.assertThat(afterPatch).contains("zubayer.quasem@gmail.com");
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/search").param("q", "zubayer"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()", CoreMatchers.is(0)));
+    }
+
+    // JUnit test for writes outside the service arriving through the outbox
+    @DisplayName("JUnit test for writes outside the service arriving through the outbox")
+    @Test
+    public void givenWriteRecordedInOutbox_whenCatchUp_thenIndexed() throws Exception {
+        // given ->  precondition or setup
+        Employee employee = Employee.builder().firstName("Xenia").lastName("Yarborough").email("xenia@gmail.com").build();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            employeeJdbcRepository.insertAll(List.of(employee));
+            employeeOutbox.record(EmployeeChange.Type.CREATED, employee.getId());
+        });
+
+        // when -> action or the behavior that we are testing
+        employeeSearchIndex.catchUp();
+
+        // then -> verify the output
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/search").param("q", "yarbo"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(employee.getId()));
+    }
+
+    // JUnit test for a blank query
+    @DisplayName("JUnit test for a blank query")
+    @Test
+    public void givenBlankQuery_whenSearch_thenBadRequest() throws Exception {
+        // when -> action or the behavior that we are testing
+        // then -> verify the output
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/search").param("q", " "))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+}
@@ -0,0 +1,80 @@
+package com.javaguides.springboot.integration;
+
+import com.javaguides.springboot.model.Employee;
+import com.javaguides.springboot.service.EmployeeService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import javax.sql.DataSource;
+
+// the prod profile on H2, which is told to ignore the Connector/J settings
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:prod-tests;DB_CLOSE_DELAY=-1;IGNORE_UNKNOWN_SETTINGS=TRUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("prod")
+public class ProdDataSourceIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    // JUnit test for the tuned pool and driver settings
+    @DisplayName("JUnit test for the tuned pool and driver settings")
+    @Test
+    public void givenProdProfile_whenStarted_thenPoolTunedAndOpenInViewOff() throws Exception {
+        // when -> action or the behavior that we are testing
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+
+        // then -> verify the output
+        Assertions.assertThat(pool.getMaximumPoolSize()).isEqualTo(20);
+        Assertions.assertThat(pool.getMinimumIdle()).isEqualTo(20);
+        Assertions.assertThat(pool.getLeakDetectionThreshold()).isEqualTo(30000);
+        Assertions.assertThat(pool.getDataSourceProperties())
+                .containsEntry("rewriteBatchedStatements", "true")
+                .containsEntry("cachePrepStmts", "true");
+        Assertions.assertThat(applicationContext.getBeansOfType(OpenEntityManagerInViewInterceptor.class)).isEmpty();
+    }
+
+    // JUnit test for the pool metrics after a request
+    @DisplayName("JUnit test for the pool metrics after a request")
+    @Test
+    public void givenRequest_whenServed_thenPoolMetricsPublished() throws Exception {
+        // given ->  precondition or setup
+        Employee employee = employeeService.saveEmployee(Employee.builder()
+                .firstName("Golam Rabbani").lastName("Rishad").email("gr.rishad@gmail.com").build());
+
+        // when -> action or the behavior that we are testing
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/{id}", employee.getId()))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        // then -> verify the output
+        Assertions.assertThat(meterRegistry.get("hikaricp.connections.acquire").timer().count()).isPositive();
+        Assertions.assertThat(meterRegistry.get("hikaricp.connections.active").gauge().value()).isZero();
+        Assertions.assertThat(meterRegistry.get("hikaricp.connections.idle").gauge()).isNotNull();
+        Assertions.assertThat(meterRegistry.get("hikaricp.connections.pending").gauge()).isNotNull();
+        Assertions.assertThat(meterRegistry.get("hikaricp.connections.timeout").counter().count()).isZero();
+    }
+}
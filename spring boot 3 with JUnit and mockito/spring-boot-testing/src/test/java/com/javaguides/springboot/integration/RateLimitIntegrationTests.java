@@ -0,0 +1,159 @@
+package com.javaguides.springboot.integration;
+
+import com.javaguides.springboot.ratelimit.AdaptiveConcurrencyLimiter;
+import com.javaguides.springboot.repository.EmployeeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+// two writes per client and endpoint and a single request in flight, with refills too slow to matter during the
+// test. MockMvc requests come from 127.0.0.1, which plays the proxy that sets X-Client-Id
+@SpringBootTest(properties = {
+        "employee.rate-limit.trusted-proxies=127.0.0.1",
+        "employee.rate-limit.write.capacity=2",
+        "employee.rate-limit.write.per-second=0.01",
+        "employee.rate-limit.concurrency.initial-limit=1",
+        "employee.rate-limit.concurrency.min-limit=1",
+        "employee.rate-limit.concurrency.max-limit=1"})
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+public class RateLimitIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private AdaptiveConcurrencyLimiter limiter;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setup() {
+        employeeRepository.deleteAll();
+    }
+
+    // JUnit test for 429 once a client used up its write bucket
+    @DisplayName("JUnit test for 429 once a client used up its write bucket")
+    @Test
+    public void givenWriteBucketUsedUp_whenCreateEmployee_thenTooManyRequests() throws Exception {
+        // given ->  precondition or setup
+        mockMvc.perform(create("client-a", 1)).andExpect(MockMvcResultMatchers.status().isCreated());
+        mockMvc.perform(create("client-a", 2)).andExpect(MockMvcResultMatchers.status().isCreated());
+
+        // when -> action or the behavior that we are testing
+        mockMvc.perform(create("client-a", 3))
+                // then -> verify the output
+                .andExpect(MockMvcResultMatchers.status().isTooManyRequests())
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.RETRY_AFTER));
+        // other clients and reads have their own buckets
+        mockMvc.perform(create("client-b", 4)).andExpect(MockMvcResultMatchers.status().isCreated());
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/employees").header("X-Client-Id", "client-a"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        Assertions.assertThat(employeeRepository.count()).isEqualTo(3);
+        Assertions.assertThat(meterRegistry.get("employee.rate-limit.requests").tag("outcome", "rate_limited")
+                .counter().count()).isEqualTo(1);
+    }
+
+    // JUnit test for 503 while the concurrency limit is reached
+    @DisplayName("JUnit test for 503 while the concurrency limit is reached")
+    @Test
+    public void givenConcurrencyLimitReached_whenGetEmployees_thenServiceUnavailable() throws Exception {
+        // given ->  precondition or setup
+        Assertions.assertThat(limiter.tryAcquire()).isTrue();
+        try {
+            // when -> action or the behavior that we are testing
+            mockMvc.perform(MockMvcRequestBuilders.get("/api/employees"))
+                    // then -> verify the output
+                    .andExpect(MockMvcResultMatchers.status().isServiceUnavailable())
+                    .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.RETRY_AFTER, "1"));
+        } finally {
+            limiter.release();
+        }
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/employees")).andExpect(MockMvcResultMatchers.status().isOk());
+        Assertions.assertThat(limiter.getInFlight()).isZero();
+    }
+
+    // JUnit test for X-Client-Id being ignored on requests that don't come from a trusted proxy
+    @DisplayName("JUnit test for X-Client-Id being ignored on requests that don't come from a trusted proxy")
+    @Test
+    public void givenUntrustedAddress_whenClientHeaderChanges_thenSameBucket() throws Exception {
+        // given ->  precondition or setup
+        mockMvc.perform(create("client-a", 1).with(remoteAddress("192.0.2.7"))).andExpect(MockMvcResultMatchers.status().isCreated());
+        mockMvc.perform(create("client-b", 2).with(remoteAddress("192.0.2.7"))).andExpect(MockMvcResultMatchers.status().isCreated());
+
+        // when -> action or the behavior that we are testing
+        mockMvc.perform(create("client-c", 3).with(remoteAddress("192.0.2.7")))
+                // then -> verify the output
+                .andExpect(MockMvcResultMatchers.status().isTooManyRequests());
+        mockMvc.perform(create("client-c", 4).with(remoteAddress("192.0.2.8"))).andExpect(MockMvcResultMatchers.status().isCreated());
+    }
+
+    // JUnit test for every endpoint having a bucket of its own
+    @DisplayName("JUnit test for every endpoint having a bucket of its own")
+    @Test
+    public void givenWriteBucketOfCreateUsedUp_whenBatchCreate_thenAdmitted() throws Exception {
+        // given ->  precondition or setup
+        mockMvc.perform(create("client-e", 1)).andExpect(MockMvcResultMatchers.status().isCreated());
+        mockMvc.perform(create("client-e", 2)).andExpect(MockMvcResultMatchers.status().isCreated());
+        mockMvc.perform(create("client-e", 3)).andExpect(MockMvcResultMatchers.status().isTooManyRequests());
+
+        // when -> action or the behavior that we are testing
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/employees/batch")
+                        .header("X-Client-Id", "client-e")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + employeeJson(4) + "]"))
+                // then -> verify the output
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        Assertions.assertThat(employeeRepository.count()).isEqualTo(3);
+    }
+
+    // JUnit test for only the change stream path bypassing the concurrency limit
+    @DisplayName("JUnit test for only the change stream path bypassing the concurrency limit")
+    @Test
+    public void givenConcurrencyLimitReached_whenEventStreamAcceptHeaderOnList_thenServiceUnavailable() throws Exception {
+        // given ->  precondition or setup
+        Assertions.assertThat(limiter.tryAcquire()).isTrue();
+        try {
+            // when -> action or the behavior that we are testing
+            mockMvc.perform(MockMvcRequestBuilders.get("/api/employees").header(HttpHeaders.ACCEPT, "text/event-stream, */*"))
+                    // then -> verify the output
+                    .andExpect(MockMvcResultMatchers.status().isServiceUnavailable());
+            mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/changes/stream"))
+                    .andExpect(MockMvcResultMatchers.request().asyncStarted());
+        } finally {
+            limiter.release();
+        }
+    }
+
+    private static MockHttpServletRequestBuilder create(String client, int n) {
+        return MockMvcRequestBuilders.post("/api/employees")
+                .header("X-Client-Id", client)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(employeeJson(n));
+    }
+
+    private static String employeeJson(int n) {
+        return "{\"firstName\":\"First" + n + "\",\"lastName\":\"Last" + n + "\",\"email\":\"employee" + n + "@gmail.com\"}";
+    }
+
+    private static RequestPostProcessor remoteAddress(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
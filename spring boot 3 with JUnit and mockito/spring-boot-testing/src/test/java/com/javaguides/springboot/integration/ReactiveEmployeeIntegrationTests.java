@@ -0,0 +1,103 @@
+package com.javaguides.springboot.integration;
+
+import com.javaguides.springboot.outbox.EmployeeOutbox;
+import com.javaguides.springboot.reactive.ReactiveEmployee;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+// the reactive profile on Netty, JPA and R2DBC share one H2 database of the local profile
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive-tests;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive-tests;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "employee.rate-limit.enabled=false"
+})
+@ActiveProfiles({"reactive", "local"})
+public class ReactiveEmployeeIntegrationTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+    @Autowired
+    private EmployeeOutbox employeeOutbox;
+
+    // JUnit test for create, read, update and delete through the reactive controller
+    @DisplayName("JUnit test for create, read, update and delete through the reactive controller")
+    @Test
+    public void givenEmployee_whenCreatedReadUpdatedAndDeleted_thenSameContractAsServlet() {
+        // given ->  precondition or setup
+        String versionBefore = employeeOutbox.currentVersion();
+        ReactiveEmployee employee = ReactiveEmployee.builder()
+                .firstName("Golam Rabbani").lastName("Rishad").email("reactive@gmail.com").build();
+
+        // when -> action or the behavior that we are testing
+        ReactiveEmployee created = webTestClient.post().uri("/api/employees").bodyValue(employee)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(ReactiveEmployee.class).returnResult().getResponseBody();
+
+        // then -> verify the output
+        Assertions.assertThat(created.getId()).isPositive();
+        Assertions.assertThat(created.getVersion()).isZero();
+        webTestClient.get().uri("/api/employees/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                .expectBody().jsonPath("$.email").isEqualTo("reactive@gmail.com");
+        webTestClient.get().uri("/api/employees/{id}", created.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"0\"")
+                .exchange()
+                .expectStatus().isNotModified();
+
+        employee.setFirstName("Rabbani");
+        webTestClient.put().uri("/api/employees/{id}", created.getId()).header(HttpHeaders.IF_MATCH, "\"0\"").bodyValue(employee)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                .expectBody().jsonPath("$.firstName").isEqualTo("Rabbani");
+        webTestClient.put().uri("/api/employees/{id}", created.getId()).header(HttpHeaders.IF_MATCH, "\"0\"").bodyValue(employee)
+                .exchange()
+                .expectStatus().isEqualTo(412);
+        webTestClient.get().uri("/api/employees").accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(ReactiveEmployee.class).value(employees ->
+                        Assertions.assertThat(employees).extracting(ReactiveEmployee::getEmail).contains("reactive@gmail.com"));
+
+        webTestClient.delete().uri("/api/employees/{id}", created.getId())
+                .exchange()
+                .expectStatus().isNoContent();
+        webTestClient.delete().uri("/api/employees/{id}", created.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+        webTestClient.get().uri("/api/employees/{id}", created.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+        // created, updated and deleted
+        Assertions.assertThat(employeeOutbox.currentVersion()).isNotEqualTo(versionBefore);
+    }
+
+    // JUnit test for a duplicate email rolling back the reactive create
+    @DisplayName("JUnit test for a duplicate email rolling back the reactive create")
+    @Test
+    public void givenExistingEmail_whenCreateEmployee_thenRejectedWithoutChange() {
+        // given ->  precondition or setup
+        ReactiveEmployee employee = ReactiveEmployee.builder()
+                .firstName("Sultan").lastName("Mahmud").email("reactive.duplicate@gmail.com").build();
+        webTestClient.post().uri("/api/employees").bodyValue(employee).exchange().expectStatus().isCreated();
+        String versionBefore = employeeOutbox.currentVersion();
+
+        // when -> action or the behavior that we are testing
+        webTestClient.post().uri("/api/employees").bodyValue(employee)
+                .exchange()
+                .expectStatus().is5xxServerError();
+
+        // then -> verify the output
+        Assertions.assertThat(employeeOutbox.currentVersion()).isEqualTo(versionBefore);
+    }
+}
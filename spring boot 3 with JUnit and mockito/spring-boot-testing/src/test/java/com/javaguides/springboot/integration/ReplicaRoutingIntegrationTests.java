@@ -0,0 +1,101 @@
+package com.javaguides.springboot.integration;
+
+import com.javaguides.springboot.model.Employee;
+import com.javaguides.springboot.repository.EmployeeRepository;
+import com.javaguides.springboot.service.EmployeeService;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.Optional;
+
+// two H2 databases standing in for the primary and a replica. hibernate creates the schema on the primary,
+// the replica gets its own copy with different rows so that the test can tell where a read went
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaRoutingIntegrationTests.PRIMARY_URL,
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "employee.datasource.replicas[0].url=" + ReplicaRoutingIntegrationTests.REPLICA_URL,
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.cache.type=none"})
+public class ReplicaRoutingIntegrationTests {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private JdbcTemplate primary = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+    private JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @BeforeEach
+    public void setup() {
+        primary.update("DELETE FROM employees");
+        replica.execute("CREATE TABLE IF NOT EXISTS employees (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "first_name VARCHAR(255) NOT NULL, last_name VARCHAR(255) NOT NULL, "
+                + "email VARCHAR(255) NOT NULL UNIQUE, version BIGINT NOT NULL)");
+        replica.update("DELETE FROM employees");
+        replica.update("INSERT INTO employees (first_name, last_name, email, version) "
+                + "VALUES ('Tamim', 'Iqbal', 't@gmail.com', 0)");
+    }
+
+    // JUnit test for reads served by the replica and writes by the primary
+    @DisplayName("JUnit test for reads served by the replica and writes by the primary")
+    @Test
+    public void givenReplica_whenReadAndWrite_thenReadOnlyTransactionsUseReplica() {
+        // given ->  precondition or setup
+        Employee employee = Employee.builder()
+                .firstName("Golam Rabbani")
+                .lastName("Rishad")
+                .email("gr.rishad@gmail.com")
+                .build();
+
+        // when -> action or the behavior that we are testing
+        employeeService.saveEmployee(employee);
+        List<Employee> employees = employeeService.getAllEmployees();
+
+        // then -> verify the output
+        Assertions.assertThat(primary.queryForObject("SELECT email FROM employees", String.class))
+                .isEqualTo("gr.rishad@gmail.com");
+        Assertions.assertThat(employees).extracting(Employee::getEmail).containsExactly("t@gmail.com");
+        Assertions.assertThat(employeeRepository.findByEmail("t@gmail.com")).isPresent();
+        Assertions.assertThat(employeeRepository.findByEmail("gr.rishad@gmail.com")).isEmpty();
+    }
+
+    // JUnit test for the read of a full update going to the primary
+    @DisplayName("JUnit test for the read of a full update going to the primary")
+    @Test
+    public void givenLaggingReplica_whenUpdateEmployeeWithCurrentVersion_thenUpdated() {
+        // given ->  precondition or setup
+        Employee employee = employeeService.saveEmployee(Employee.builder()
+                .firstName("Golam Rabbani")
+                .lastName("Rishad")
+                .email("gr.rishad@gmail.com")
+                .build());
+        // the primary is at version 1, the replica hasn't applied that write yet
+        primary.update("UPDATE employees SET version = 1 WHERE id = ?", employee.getId());
+        replica.update("MERGE INTO employees (id, first_name, last_name, email, version) KEY (id) "
+                + "VALUES (?, 'Golam Rabbani', 'Rishad', 'gr.rishad@gmail.com', 0)", employee.getId());
+
+        // when -> action or the behavior that we are testing
+        Optional<Employee> updated = employeeService.updateEmployee(employee.getId(), Employee.builder()
+                .firstName("Rabbani")
+                .lastName("Rishad")
+                .email("gr.rishad@gmail.com")
+                .build(), 1L);
+
+        // then -> verify the output
+        Assertions.assertThat(updated).hasValueSatisfying(saved -> Assertions.assertThat(saved.getVersion()).isEqualTo(2));
+        Assertions.assertThat(primary.queryForObject("SELECT first_name FROM employees WHERE id = ?", String.class,
+                employee.getId())).isEqualTo("Rabbani");
+    }
+}
@@ -0,0 +1,41 @@
+package com.javaguides.springboot.integration;
+
+import com.javaguides.springboot.model.Employee;
+import com.javaguides.springboot.repository.EmployeeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+// hibernate-jcache on the classpath must not switch the second-level cache on by itself
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "employee.l2-cache.enabled=false")
+@AutoConfigureTestDatabase
+public class SecondLevelCacheDisabledIntegrationTests {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // JUnit test for the second-level cache staying off
+    @DisplayName("JUnit test for the second-level cache staying off")
+    @Test
+    public void givenL2CacheDisabled_whenFindById_thenEmployeeNotCached() {
+        // given ->  precondition or setup
+        Employee employee = employeeRepository.save(Employee.builder()
+                .firstName("Golam Rabbani")
+                .lastName("Rishad")
+                .email("gr.rishad@gmail.com")
+                .build());
+
+        // when -> action or the behavior that we are testing
+        employeeRepository.findById(employee.getId());
+        employeeRepository.findByEmail("gr.rishad@gmail.com");
+
+        // then -> verify the output
+        Assertions.assertThat(entityManagerFactory.getCache().contains(Employee.class, employee.getId())).isFalse();
+    }
+}
@@ -0,0 +1,142 @@
+package com.javaguides.springboot.integration;
+
+import com.javaguides.springboot.dto.EmployeeView;
+import com.javaguides.springboot.model.Employee;
+import com.javaguides.springboot.repository.EmployeeRepository;
+import com.javaguides.springboot.service.EmployeeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+// the service's own caches are switched off, reads go through the repository and only hit Hibernate's cache
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {"employee.l2-cache.enabled=true", "spring.cache.type=none"})
+@AutoConfigureTestDatabase
+public class SecondLevelCacheIntegrationTests {
+
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() {
+        employeeRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+        employee = employeeService.saveEmployee(Employee.builder()
+                .firstName("Golam Rabbani")
+                .lastName("Rishad")
+                .email("gr.rishad@gmail.com")
+                .build());
+    }
+
+    // JUnit test for entity cache hits on findById
+    @DisplayName("JUnit test for entity cache hits on findById")
+    @Test
+    public void givenCachedEmployee_whenFindById_thenServedFromSecondLevelCache() {
+        // given ->  precondition or setup
+        employeeRepository.findById(employee.getId());
+        double hits = hits(Employee.CACHE_REGION);
+
+        // when -> action or the behavior that we are testing
+        Employee found = employeeRepository.findById(employee.getId()).orElseThrow();
+
+        // then -> verify the output
+        Assertions.assertThat(found.getEmail()).isEqualTo("gr.rishad@gmail.com");
+        Assertions.assertThat(entityManagerFactory.getCache().contains(Employee.class, employee.getId())).isTrue();
+        Assertions.assertThat(hits(Employee.CACHE_REGION)).isGreaterThan(hits);
+    }
+
+    // JUnit test for the read model by id and multi-get reads hitting the second-level cache
+    @DisplayName("JUnit test for the read model by id and multi-get reads hitting the second-level cache")
+    @Test
+    public void givenCachedEmployee_whenGetEmployeeViewByIdAndByIds_thenServedFromSecondLevelCache() {
+        // given ->  precondition or setup
+        employeeService.getEmployeeViewById(employee.getId());
+        employeeService.getEmployeesByIds(List.of(employee.getId()));
+        double entityHits = hits(Employee.CACHE_REGION);
+        double queryHits = hits(Employee.QUERY_CACHE_REGION);
+
+        // when -> action or the behavior that we are testing
+        EmployeeView byId = employeeService.getEmployeeViewById(employee.getId()).orElseThrow();
+        List<EmployeeView> byIds = employeeService.getEmployeesByIds(List.of(employee.getId()));
+
+        // then -> verify the output
+        Assertions.assertThat(byId.email()).isEqualTo("gr.rishad@gmail.com");
+        Assertions.assertThat(byIds).containsExactly(byId);
+        Assertions.assertThat(hits(Employee.CACHE_REGION)).isGreaterThan(entityHits);
+        Assertions.assertThat(hits(Employee.QUERY_CACHE_REGION)).isGreaterThan(queryHits);
+    }
+
+    // JUnit test for cache invalidation by updateEmployee
+    @DisplayName("JUnit test for cache invalidation by updateEmployee")
+    @Test
+    public void givenCachedEmployee_whenUpdateEmployee_thenReadsSeeTheUpdate() {
+        // given ->  precondition or setup
+        employeeRepository.findById(employee.getId());
+        employeeRepository.findByEmail("gr.rishad@gmail.com");
+        Employee changes = employeeRepository.findById(employee.getId()).orElseThrow();
+        changes.setEmail("rabbani@gmail.com");
+
+        // when -> action or the behavior that we are testing
+        employeeService.updateEmployee(changes);
+
+        // then -> verify the output
+        Assertions.assertThat(employeeRepository.findById(employee.getId()).orElseThrow().getEmail()).isEqualTo("rabbani@gmail.com");
+        Assertions.assertThat(employeeRepository.findByEmail("gr.rishad@gmail.com")).isEmpty();
+        Assertions.assertThat(employeeRepository.findByEmail("rabbani@gmail.com")).isPresent();
+    }
+
+    // JUnit test for cache invalidation by a single statement patch, which bypasses Hibernate
+    @DisplayName("JUnit test for cache invalidation by patchEmployee")
+    @Test
+    public void givenCachedEmployee_whenPatchEmployee_thenReadsSeeThePatch() {
+        // given ->  precondition or setup
+        employeeRepository.findById(employee.getId());
+        employeeRepository.findByEmail("gr.rishad@gmail.com");
+
+        // when -> action or the behavior that we are testing
+        employeeService.patchEmployee(employee.getId(), Employee.builder().email("rabbani@gmail.com").build(), null);
+
+        // then -> verify the output
+        Employee found = employeeRepository.findById(employee.getId()).orElseThrow();
+        Assertions.assertThat(found.getEmail()).isEqualTo("rabbani@gmail.com");
+        Assertions.assertThat(found.getVersion()).isEqualTo(employee.getVersion() + 1);
+        Assertions.assertThat(employeeRepository.findByEmail("gr.rishad@gmail.com")).isEmpty();
+    }
+
+    // JUnit test for cache invalidation by deleteEmployee
+    @DisplayName("JUnit test for cache invalidation by deleteEmployee")
+    @Test
+    public void givenCachedEmployee_whenDeleteEmployee_thenNotFound() {
+        // given ->  precondition or setup
+        employeeRepository.findById(employee.getId());
+        employeeRepository.findByEmail("gr.rishad@gmail.com");
+
+        // when -> action or the behavior that we are testing
+        employeeService.deleteEmployee(employee.getId());
+
+        // then -> verify the output
+        Assertions.assertThat(employeeRepository.findById(employee.getId())).isEmpty();
+        Assertions.assertThat(employeeRepository.findByEmail("gr.rishad@gmail.com")).isEmpty();
+    }
+
+    private double hits(String region) {
+        return meterRegistry.get("cache.gets").tag("cacheManager", "hibernate").tag("cache", region)
+                .tag("result", "hit").functionCounter().count();
+    }
+}
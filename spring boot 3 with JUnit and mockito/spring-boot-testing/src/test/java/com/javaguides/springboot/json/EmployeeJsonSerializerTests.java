@@ -0,0 +1,53 @@
+package com.javaguides.springboot.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.javaguides.springboot.dto.EmployeeView;
+import com.javaguides.springboot.model.Employee;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class EmployeeJsonSerializerTests {
+
+    // JUnit test for output identical to the bean serializer
+    @DisplayName("JUnit test for output identical to the bean serializer")
+    @Test
+    public void givenEmployees_whenSerialize_thenSameJsonAsBeanSerializer() throws Exception {
+        // given ->  precondition or setup
+        ObjectMapper beanMapper = new ObjectMapper();
+        ObjectMapper optimizedMapper = new ObjectMapper()
+                .registerModule(new SimpleModule().addSerializer(new EmployeeJsonSerializer()));
+        List<Employee> employees = List.of(
+                Employee.builder().id(1L).firstName("Golam \"Rabbani\"").lastName("Rishad").email("gr.rishad@gmail.com").version(3).build(),
+                Employee.builder().id(2L).firstName("Sultan").lastName(null).email("sultan@gmail.com").build());
+
+        // when -> action or the behavior that we are testing
+        String json = optimizedMapper.writeValueAsString(employees);
+
+        // then -> verify the output
+        Assertions.assertThat(json).isEqualTo(beanMapper.writeValueAsString(employees));
+    }
+
+    // JUnit test for the read model written like the entity
+    @DisplayName("JUnit test for EmployeeView output identical to Employee")
+    @Test
+    public void givenEmployeeViews_whenSerialize_thenSameJsonAsEmployees() throws Exception {
+        // given ->  precondition or setup
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new SimpleModule()
+                .addSerializer(new EmployeeJsonSerializer())
+                .addSerializer(new EmployeeViewJsonSerializer()));
+        List<Employee> employees = List.of(
+                Employee.builder().id(1L).firstName("Golam \"Rabbani\"").lastName("Rishad").email("gr.rishad@gmail.com").version(3).build(),
+                Employee.builder().id(2L).firstName("Sultan").lastName(null).email("sultan@gmail.com").build());
+
+        // when -> action or the behavior that we are testing
+        String json = objectMapper.writeValueAsString(employees.stream().map(EmployeeView::of).toList());
+
+        // then -> verify the output
+        Assertions.assertThat(json).isEqualTo(objectMapper.writeValueAsString(employees));
+        Assertions.assertThat(json).isEqualTo(new ObjectMapper().writeValueAsString(employees));
+    }
+}
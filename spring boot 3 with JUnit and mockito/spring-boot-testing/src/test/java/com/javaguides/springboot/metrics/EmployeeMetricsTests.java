@@ -0,0 +1,68 @@
+package com.javaguides.springboot.metrics;
+
+import com.javaguides.springboot.model.Employee;
+import com.javaguides.springboot.repository.EmployeeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+@SpringBootTest(properties = "spring.cache.type=none")
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+public class EmployeeMetricsTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // JUnit test for service/repository timers and the per-request statement count
+    @DisplayName("JUnit test for service/repository timers and the per-request statement count")
+    @Test
+    public void givenEmployee_whenGetEmployeeById_thenRecordTimersAndStatements() throws Exception {
+        // given ->  precondition or setup
+        Employee employee = employeeRepository.save(Employee.builder()
+                .firstName("Golam Rabbani")
+                .lastName("Rishad")
+                .email("gr.rishad@gmail.com")
+                .build());
+
+        // when -> action or the behavior that we are testing
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/{id}", employee.getId()))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        // then -> verify the output
+        Assertions.assertThat(meterRegistry.get("employee.service").tag("method", "getEmployeeViewById").timer().count())
+                .isEqualTo(1);
+        Assertions.assertThat(meterRegistry.get("employee.repository").tag("method", "findById").timer().count())
+                .isEqualTo(1);
+        Assertions.assertThat(meterRegistry.get("employee.request.sql.statements").tag("uri", "/api/employees/{id}")
+                .summary().totalAmount()).isEqualTo(1);
+    }
+
+    // JUnit test for one timer per method across calls
+    @DisplayName("JUnit test for one timer per method across calls")
+    @Test
+    public void givenRepository_whenCountTwice_thenRecordOnOneTimer() {
+        // given ->  precondition or setup
+        employeeRepository.count();
+
+        // when -> action or the behavior that we are testing
+        employeeRepository.count();
+
+        // then -> verify the output
+        Assertions.assertThat(meterRegistry.find("employee.repository").tag("method", "count").timers())
+                .singleElement()
+                .satisfies(timer -> Assertions.assertThat(timer.count()).isEqualTo(2));
+    }
+}
@@ -0,0 +1,56 @@
+package com.javaguides.springboot.ratelimit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveConcurrencyLimiterTests {
+
+    // JUnit test for rejecting requests over the limit
+    @DisplayName("JUnit test for rejecting requests over the limit")
+    @Test
+    public void givenLimitReached_whenTryAcquire_thenRejectedUntilRelease() {
+        // given ->  precondition or setup
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 0.5);
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+
+        // when -> action or the behavior that we are testing
+        boolean overLimit = limiter.tryAcquire();
+        limiter.release();
+        boolean afterRelease = limiter.tryAcquire();
+
+        // then -> verify the output
+        Assertions.assertThat(overLimit).isFalse();
+        Assertions.assertThat(afterRelease).isTrue();
+        Assertions.assertThat(limiter.getInFlight()).isEqualTo(2);
+    }
+
+    // JUnit test for adapting the limit to the database load
+    @DisplayName("JUnit test for adapting the limit to the database load")
+    @Test
+    public void givenLoadSamples_whenAdjust_thenDecreaseMultiplicativelyAndIncreaseAdditively() {
+        // given ->  precondition or setup
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 2, 10, 0.5);
+
+        // when -> action or the behavior that we are testing
+        limiter.adjust(true);
+        int afterOverload = limiter.getLimit();
+        limiter.adjust(true);
+        limiter.adjust(true);
+        int atMinimum = limiter.getLimit();
+        limiter.adjust(false);
+        int idle = limiter.getLimit();
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+        limiter.adjust(false);
+        int saturated = limiter.getLimit();
+
+        // then -> verify the output
+        Assertions.assertThat(afterOverload).isEqualTo(4);
+        Assertions.assertThat(atMinimum).isEqualTo(2);
+        // only a limit that is actually used grows
+        Assertions.assertThat(idle).isEqualTo(2);
+        Assertions.assertThat(saturated).isEqualTo(3);
+    }
+}
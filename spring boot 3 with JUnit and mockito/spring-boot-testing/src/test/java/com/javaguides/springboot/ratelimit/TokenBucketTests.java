@@ -0,0 +1,58 @@
+package com.javaguides.springboot.ratelimit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TokenBucketTests {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    // JUnit test for a burst up to the capacity
+    @DisplayName("JUnit test for a burst up to the capacity")
+    @Test
+    public void givenFullBucket_whenBurst_thenCapacityAdmittedAndNextRejected() {
+        // given ->  precondition or setup
+        TokenBucket bucket = new TokenBucket(5, 10, 0);
+
+        // when -> action or the behavior that we are testing
+        int admitted = 0;
+        for (int i = 0; i < 5; i++) {
+            if (bucket.tryAcquire(0) == 0) {
+                admitted++;
+            }
+        }
+        long wait = bucket.tryAcquire(0);
+
+        // then -> verify the output
+        Assertions.assertThat(admitted).isEqualTo(5);
+        Assertions.assertThat(wait).isEqualTo(SECOND / 10);
+    }
+
+    // JUnit test for the refill rate
+    @DisplayName("JUnit test for the refill rate")
+    @Test
+    public void givenEmptyBucket_whenTimePasses_thenRefilledAtRate() {
+        // given ->  precondition or setup
+        TokenBucket bucket = new TokenBucket(5, 10, 0);
+        for (int i = 0; i < 5; i++) {
+            bucket.tryAcquire(0);
+        }
+
+        // when -> action or the behavior that we are testing
+        long afterOneToken = bucket.tryAcquire(SECOND / 10);
+        long beforeNextToken = bucket.tryAcquire(SECOND / 10);
+        int admittedAfterIdle = 0;
+        for (int i = 0; i < 10; i++) {
+            if (bucket.tryAcquire(60 * SECOND) == 0) {
+                admittedAfterIdle++;
+            }
+        }
+
+        // then -> verify the output
+        Assertions.assertThat(afterOneToken).isZero();
+        Assertions.assertThat(beforeNextToken).isPositive();
+        // an idle bucket never holds more than its capacity
+        Assertions.assertThat(admittedAfterIdle).isEqualTo(5);
+    }
+}
@@ -0,0 +1,142 @@
+package com.javaguides.springboot.repository;
+
+import com.javaguides.springboot.model.Employee;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@DataJpaTest
+@Import(EmployeeJdbcRepository.class)
+@TestPropertySource(properties = "employee.batch.size=2")
+public class EmployeeJdbcRepositoryTests {
+
+    @Autowired
+    private EmployeeJdbcRepository employeeJdbcRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private List<Employee> employees() {
+        return List.of(
+                Employee.builder().firstName("Golam Rabbani").lastName("Rishad").email("gr.rishad@gmail.com").build(),
+                Employee.builder().firstName("Tamim").lastName("Iqbal").email("t@gmail.com").build(),
+                Employee.builder().firstName("Sultan").lastName("Mahmud").email("sultan@gmail.com").build());
+    }
+
+    // JUnit test for batch insert operation
+    @DisplayName("JUnit test for batch insert operation")
+    @Test
+    public void givenEmployeeList_whenInsertAll_thenAssignGeneratedIds() {
+        // given ->  precondition or setup
+        List<Employee> employees = employees();
+
+        // when -> action or the behavior that we are testing
+        employeeJdbcRepository.insertAll(employees);
+
+        // then -> verify the output
+        Assertions.assertThat(employees).allSatisfy(employee -> Assertions.assertThat(employee.getId()).isGreaterThan(0));
+        Assertions.assertThat(employeeRepository.count()).isEqualTo(3);
+    }
+
+    // JUnit test for batch email lookup
+    @DisplayName("JUnit test for batch email lookup")
+    @Test
+    public void givenSavedEmployees_whenFindIdsByEmail_thenReturnOnlyExistingEmails() {
+        // given ->  precondition or setup
+        List<Employee> employees = employees();
+        employeeJdbcRepository.insertAll(employees);
+
+        // when -> action or the behavior that we are testing
+        Map<String, Long> idsByEmail = employeeJdbcRepository.findIdsByEmail(
+                Set.of("gr.rishad@gmail.com", "t@gmail.com", "sultan@gmail.com", "new@gmail.com"));
+
+        // then -> verify the output
+        Assertions.assertThat(idsByEmail).hasSize(3).doesNotContainKey("new@gmail.com");
+        Assertions.assertThat(idsByEmail.get("t@gmail.com")).isEqualTo(employees.get(1).getId());
+    }
+
+    // JUnit test for batch update and delete operations
+    @DisplayName("JUnit test for batch update and delete operations")
+    @Test
+    public void givenSavedEmployees_whenUpdateAllAndDeleteAll_thenReturnCountPerRow() {
+        // given ->  precondition or setup
+        List<Employee> employees = employees();
+        employeeJdbcRepository.insertAll(employees);
+        employees.get(0).setFirstName("Ali");
+
+        // when -> action or the behavior that we are testing
+        int[] updated = employeeJdbcRepository.updateAll(List.of(employees.get(0),
+                Employee.builder().id(-1L).firstName("No").lastName("Body").email("x@gmail.com").build()));
+        int[] deleted = employeeJdbcRepository.deleteAllById(List.of(employees.get(1).getId(), employees.get(2).getId(), -1L));
+
+        // then -> verify the output
+        Assertions.assertThat(updated).containsExactly(1, 0);
+        Assertions.assertThat(deleted).containsExactly(1, 1, 0);
+        Assertions.assertThat(employeeRepository.findById(employees.get(0).getId()).get().getFirstName()).isEqualTo("Ali");
+    }
+
+    // JUnit test for batch delete with repeated ids
+    @DisplayName("JUnit test for batch delete with repeated ids")
+    @Test
+    public void givenRepeatedIds_whenDeleteAllById_thenCountEachEmployeeOnce() {
+        // given ->  precondition or setup
+        List<Employee> employees = employees();
+        employeeJdbcRepository.insertAll(employees);
+        long id = employees.get(0).getId();
+
+        // when -> action or the behavior that we are testing
+        int[] deleted = employeeJdbcRepository.deleteAllById(List.of(id, -1L, id));
+
+        // then -> verify the output
+        Assertions.assertThat(deleted).containsExactly(1, 0, 0);
+        Assertions.assertThat(employeeRepository.count()).isEqualTo(2);
+    }
+
+    // JUnit test for update counts of a batch the driver rewrote
+    @DisplayName("JUnit test for update counts of a batch the driver rewrote")
+    @Test
+    public void givenSuccessNoInfoCounts_whenKnownCounts_thenResolvedByExistingIds() {
+        // given ->  precondition or setup
+        List<Employee> employees = employees();
+        employeeJdbcRepository.insertAll(employees);
+        int[] counts = {Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO, 1, 0};
+
+        // when -> action or the behavior that we are testing
+        int[] known = employeeJdbcRepository.knownCounts(counts,
+                List.of(employees.get(0).getId(), -1L, employees.get(1).getId(), -2L));
+
+        // then -> verify the output
+        Assertions.assertThat(known).containsExactly(1, 0, 1, 0);
+    }
+
+    // JUnit test for single statement partial update
+    @DisplayName("JUnit test for single statement partial update")
+    @Test
+    public void givenSavedEmployee_whenPatch_thenUpdateOnlyGivenFieldsAndBumpVersion() {
+        // given ->  precondition or setup
+        List<Employee> employees = employees();
+        employeeJdbcRepository.insertAll(employees);
+        long id = employees.get(0).getId();
+
+        // when -> action or the behavior that we are testing
+        int patched = employeeJdbcRepository.patch(id, Employee.builder().firstName("Ali").build(), 0L);
+        int stale = employeeJdbcRepository.patch(id, Employee.builder().lastName("Khan").build(), 0L);
+
+        // then -> verify the output
+        Assertions.assertThat(patched).isEqualTo(1);
+        Assertions.assertThat(stale).isZero();
+        Employee employee = employeeRepository.findById(id).get();
+        Assertions.assertThat(employee.getFirstName()).isEqualTo("Ali");
+        Assertions.assertThat(employee.getLastName()).isEqualTo("Rishad");
+        Assertions.assertThat(employee.getVersion()).isEqualTo(1);
+    }
+}
@@ -1,12 +1,19 @@
 package com.javaguides.springboot.repository;
 
+import com.javaguides.springboot.dto.EmployeeSummary;
+import com.javaguides.springboot.dto.EmployeeView;
 import com.javaguides.springboot.model.Employee;
 import org.assertj.core.api.Assertions;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,6 +23,8 @@ public class EmployeeRepositoryTests {
 
     @Autowired
     private EmployeeRepository employeeRepository;
+    @Autowired
+    private TestEntityManager entityManager;
 
     private Employee employee;
 
@@ -237,5 +246,102 @@ public class EmployeeRepositoryTests {
         Assertions.assertThat(savedEmployee).isNotNull();
     }
 
+    // JUnit test for keyset pagination query
+    @DisplayName("JUnit test for keyset pagination query")
+    @Test
+    public void givenEmployeeList_whenFindByIdGreaterThan_thenReturnNextPage() {
+        // given ->  precondition or setup
+        Employee employee1 = Employee.builder()
+                .firstName("Tamim")
+                .lastName("Iqbal")
+                .email("t@gmail.com")
+                .build();
+        Employee employee2 = Employee.builder()
+                .firstName("Sultan")
+                .lastName("Mahmud")
+                .email("sultan@gmail.com")
+                .build();
+        employeeRepository.save(employee);
+        employeeRepository.save(employee1);
+        employeeRepository.save(employee2);
+
+        // when -> action or the behavior that we are testing
+        List<Employee> page = employeeRepository.findByIdGreaterThanOrderByIdAsc(employee.getId(), PageRequest.of(0, 1));
+
+        // then -> verify the output
+        Assertions.assertThat(page).hasSize(1);
+        Assertions.assertThat(page.get(0).getId()).isEqualTo(employee1.getId());
+    }
+
+    // JUnit test for the version-only lookup
+    @DisplayName("JUnit test for findVersionById operation")
+    @Test
+    public void givenSavedEmployee_whenFindVersionById_thenReturnVersion() {
+        // given ->  precondition or setup
+        employeeRepository.saveAndFlush(employee);
+
+        // when -> action or the behavior that we are testing
+        Optional<Long> version = employeeRepository.findVersionById(employee.getId());
+        Optional<Long> missing = employeeRepository.findVersionById(employee.getId() + 1);
+
+        // then -> verify the output
+        Assertions.assertThat(version).contains(0L);
+        Assertions.assertThat(missing).isEmpty();
+    }
 
+    // JUnit test for name prefix search projection
+    @DisplayName("JUnit test for name prefix search projection")
+    @Test
+    public void givenEmployeesWithSameLastName_whenSearchByNamePrefix_thenReturnSortedSummaries() {
+        // given ->  precondition or setup
+        Employee employee1 = Employee.builder()
+                .firstName("Fazle")
+                .lastName("Rishad")
+                .email("fazle@gmail.com")
+                .build();
+        Employee employee2 = Employee.builder()
+                .firstName("Tamim")
+                .lastName("Iqbal")
+                .email("t@gmail.com")
+                .build();
+        employeeRepository.save(employee);
+        employeeRepository.save(employee1);
+        employeeRepository.save(employee2);
+
+        // when -> action or the behavior that we are testing
+        Slice<EmployeeSummary> summaries = employeeRepository.findByLastNameStartingWithAndFirstNameStartingWith(
+                "Ris", "", PageRequest.of(0, 10, Sort.by("lastName", "firstName")));
+
+        // then -> verify the output
+        Assertions.assertThat(summaries.getContent()).extracting(EmployeeSummary::getFirstName)
+                .containsExactly("Fazle", "Golam Rabbani");
+        Assertions.assertThat(summaries.hasNext()).isFalse();
+    }
+
+    // JUnit test for the read model projections
+    @DisplayName("JUnit test for the EmployeeView projection queries")
+    @Test
+    public void givenEmployeeList_whenFindViews_thenReturnProjectionsWithoutManagedEntities() {
+        // given ->  precondition or setup
+        Employee employee1 = Employee.builder()
+                .firstName("Tamim")
+                .lastName("Iqbal")
+                .email("t@gmail.com")
+                .build();
+        employeeRepository.save(employee);
+        employeeRepository.save(employee1);
+        entityManager.flush();
+        entityManager.clear();
+
+        // when -> action or the behavior that we are testing
+        Optional<EmployeeView> view = employeeRepository.findViewById(employee.getId());
+        List<EmployeeView> page = employeeRepository.findViewsByIdGreaterThan(employee.getId(), PageRequest.of(0, 10));
+        List<EmployeeView> all = employeeRepository.findAllViews();
+
+        // then -> verify the output
+        Assertions.assertThat(view).contains(new EmployeeView(employee.getId(), "Golam Rabbani", "Rishad", "gr.rishad@gmail.com", 0L));
+        Assertions.assertThat(page).extracting(EmployeeView::id).containsExactly(employee1.getId());
+        Assertions.assertThat(all).extracting(EmployeeView::email).containsExactly("gr.rishad@gmail.com", "t@gmail.com");
+        Assertions.assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
 }
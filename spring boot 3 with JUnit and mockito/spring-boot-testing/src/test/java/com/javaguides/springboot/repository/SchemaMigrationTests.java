@@ -0,0 +1,60 @@
+package com.javaguides.springboot.repository;
+
+import com.javaguides.springboot.model.Employee;
+import com.javaguides.springboot.model.EmployeeChange;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Instant;
+
+// the schema of the fast-startup profile comes from the Flyway migrations, Hibernate validates it against the entities
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+public class SchemaMigrationTests {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EmployeeChangeRepository employeeChangeRepository;
+
+    // JUnit test for saving an employee and its change into the migrated schema
+    @DisplayName("JUnit test for saving an employee and its change into the migrated schema")
+    @Test
+    public void givenMigratedSchema_whenSaveEmployeeAndChange_thenReadBack() {
+        // given ->  precondition or setup
+        Employee employee = Employee.builder()
+                .firstName("Golam Rabbani").lastName("Rishad").email("gr.rishad@gmail.com").build();
+
+        // when -> action or the behavior that we are testing
+        Employee saved = employeeRepository.saveAndFlush(employee);
+        EmployeeChange change = employeeChangeRepository.saveAndFlush(EmployeeChange.builder()
+                .employeeId(saved.getId()).type(EmployeeChange.Type.CREATED).occurredAt(Instant.now()).build());
+
+        // then -> verify the output
+        Assertions.assertThat(employeeRepository.findByEmail("gr.rishad@gmail.com")).isPresent();
+        Assertions.assertThat(employeeChangeRepository.findById(change.getSequence()))
+                .hasValueSatisfying(read -> Assertions.assertThat(read.getType()).isEqualTo(EmployeeChange.Type.CREATED));
+    }
+
+    // JUnit test for the unique email constraint of the migration
+    @DisplayName("JUnit test for the unique email constraint of the migration")
+    @Test
+    public void givenExistingEmail_whenSave_thenUniqueConstraintViolated() {
+        // given ->  precondition or setup
+        employeeRepository.saveAndFlush(Employee.builder()
+                .firstName("Golam Rabbani").lastName("Rishad").email("gr.rishad@gmail.com").build());
+
+        // when -> action or the behavior that we are testing
+        // then -> verify the output
+        Assertions.assertThatThrownBy(() -> employeeRepository.saveAndFlush(Employee.builder()
+                        .firstName("Sultan").lastName("Mahmud").email("gr.rishad@gmail.com").build()))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .hasMessageContaining(Employee.UNIQUE_EMAIL.toUpperCase());
+    }
+}
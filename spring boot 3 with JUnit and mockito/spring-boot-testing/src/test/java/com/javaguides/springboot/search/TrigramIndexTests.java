@@ -0,0 +1,112 @@
+package com.javaguides.springboot.search;
+
+import com.javaguides.springboot.dto.EmployeeSummary;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class TrigramIndexTests {
+
+    private TrigramIndex index;
+
+    @BeforeEach
+    public void setup() {
+        index = new TrigramIndex();
+        index.put(1L, "Golam Rabbani", "Rishad", "gr.rishad@gmail.com");
+        index.put(2L, "Sultan", "Mahmud", "sultan@gmail.com");
+        index.put(3L, "Parisha", "Rahman", "parisha@example.com");
+    }
+
+    // JUnit test for ranking a whole token above a match inside a token
+    @DisplayName("JUnit test for ranking a whole token above a match inside a token")
+    @Test
+    public void givenTermInsideAndAsToken_whenSearch_thenWholeTokenFirst() {
+        // given ->  precondition or setup
+        index.put(4L, "Risha", "Khan", "khan@example.com");
+
+        // when -> action or the behavior that we are testing
+        List<EmployeeSummary> results = index.search("risha", 10);
+
+        // then -> verify the output
+        Assertions.assertThat(results).extracting(EmployeeSummary::getId).containsExactly(4L, 1L, 3L);
+    }
+
+    // JUnit test for short terms matching token prefixes only
+    @DisplayName("JUnit test for short terms matching token prefixes only")
+    @Test
+    public void givenTwoCharacterTerm_whenSearch_thenOnlyTokenPrefixesMatch() {
+        // when -> action or the behavior that we are testing
+        List<EmployeeSummary> results = index.search("Ra", 10);
+
+        // then -> verify the output
+        Assertions.assertThat(results).extracting(EmployeeSummary::getId).containsExactly(1L, 3L);
+    }
+
+    // JUnit test for every term having to match
+    @DisplayName("JUnit test for every term having to match")
+    @Test
+    public void givenTwoTerms_whenSearch_thenOnlyEmployeesMatchingBoth() {
+        // when -> action or the behavior that we are testing
+        List<EmployeeSummary> results = index.search("gmail sul", 10);
+
+        // then -> verify the output
+        Assertions.assertThat(results).extracting(EmployeeSummary::getEmail).containsExactly("sultan@gmail.com");
+    }
+
+    // JUnit test for the result limit
+    @DisplayName("JUnit test for the result limit")
+    @Test
+    public void givenMoreMatchesThanLimit_whenSearch_thenTopResultsOnly() {
+        // when -> action or the behavior that we are testing
+        List<EmployeeSummary> results = index.search("com", 2);
+
+        // then -> verify the output
+        Assertions.assertThat(results).extracting(EmployeeSummary::getId).containsExactly(1L, 2L);
+    }
+
+    // JUnit test for updates, patches and deletes
+    @DisplayName("JUnit test for updates, patches and deletes")
+    @Test
+    public void givenChangedEmployees_whenSearch_thenCurrentStateMatches() {
+        // given ->  precondition or setup
+        index.put(2L, "Sultana", "Mahmud", "sultana@gmail.com");
+        index.patch(3L, null, "Chowdhury", null);
+        index.remove(1L);
+
+        // when -> action or the behavior that we are testing
+        List<EmployeeSummary> rahman = index.search("rahman", 10);
+        List<EmployeeSummary> chowdhury = index.search("chowdhury", 10);
+        List<EmployeeSummary> gmail = index.search("gmail", 10);
+
+        // then -> verify the output
+        Assertions.assertThat(rahman).isEmpty();
+        Assertions.assertThat(chowdhury).extracting(EmployeeSummary::getFirstName).containsExactly("Parisha");
+        Assertions.assertThat(gmail).extracting(EmployeeSummary::getFirstName).containsExactly("Sultana");
+        Assertions.assertThat(index.size()).isEqualTo(2);
+    }
+
+    // JUnit test for compaction keeping the live employees
+    @DisplayName("JUnit test for compaction keeping the live employees")
+    @Test
+    public void givenManyDeletes_whenCompact_thenLiveEmployeesStillFound() {
+        // given ->  precondition or setup
+        for (long id = 10; id < 3000; id++) {
+            index.put(id, "First" + id, "Last" + id, "employee" + id + "@example.com");
+        }
+        for (long id = 10; id < 3000; id++) {
+            index.remove(id);
+        }
+
+        // when -> action or the behavior that we are testing
+        boolean needsCompaction = index.needsCompaction();
+        TrigramIndex compacted = index.compact();
+
+        // then -> verify the output
+        Assertions.assertThat(needsCompaction).isTrue();
+        Assertions.assertThat(compacted.size()).isEqualTo(3);
+        Assertions.assertThat(compacted.search("parisha", 10)).extracting(EmployeeSummary::getId).containsExactly(3L);
+    }
+}
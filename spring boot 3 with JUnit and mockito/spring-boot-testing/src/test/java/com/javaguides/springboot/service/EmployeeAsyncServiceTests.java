@@ -0,0 +1,85 @@
+package com.javaguides.springboot.service;
+
+import com.javaguides.springboot.dto.EmployeeView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeAsyncServiceTests {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EmployeeAsyncServiceImpl employeeAsyncService;
+    private EmployeeView employee;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        // one worker and one queue slot, so a third concurrent call is rejected
+        employeeAsyncService = new EmployeeAsyncServiceImpl(employeeService, meterRegistry, 1, 1);
+        employee = new EmployeeView(1L, "GOlam Rabbani", "Rishad", "gr.rishad@gmail.com", 0L);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        employeeAsyncService.shutdown();
+    }
+
+    // JUnit test for async getEmployeeById method
+    @DisplayName("JUnit test for async getEmployeeById method")
+    @Test
+    public void givenEmployeeId_whenGetEmployeeByIdAsync_thenCompleteWithEmployee() throws Exception {
+        // given ->  precondition or setup
+        BDDMockito.given(employeeService.getEmployeeViewById(1L)).willReturn(Optional.of(employee));
+
+        // when -> action or the behavior that we are testing
+        Optional<EmployeeView> result = employeeAsyncService.getEmployeeById(1L).get(5, TimeUnit.SECONDS);
+
+        // then -> verify the output
+        Assertions.assertThat(result).contains(employee);
+    }
+
+    // JUnit test for async executor backpressure
+    @DisplayName("JUnit test for async executor backpressure")
+    @Test
+    public void givenSaturatedExecutor_whenGetEmployeeByIdAsync_thenFailFastAndCountRejection() throws Exception {
+        // given ->  precondition or setup
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BDDMockito.given(employeeService.getEmployeeViewById(1L)).willAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(employee);
+        });
+        CompletableFuture<Optional<EmployeeView>> running = employeeAsyncService.getEmployeeById(1L);
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<Optional<EmployeeView>> queued = employeeAsyncService.getEmployeeById(1L);
+
+        // when -> action or the behavior that we are testing
+        CompletableFuture<Optional<EmployeeView>> rejected = employeeAsyncService.getEmployeeById(1L);
+        release.countDown();
+
+        // then -> verify the output
+        Assertions.assertThat(rejected).isCompletedExceptionally();
+        Assertions.assertThatThrownBy(rejected::join).hasCauseInstanceOf(RejectedExecutionException.class);
+        Assertions.assertThat(running.get(5, TimeUnit.SECONDS)).contains(employee);
+        Assertions.assertThat(queued.get(5, TimeUnit.SECONDS)).contains(employee);
+        Assertions.assertThat(meterRegistry.get("employee.async.rejected").counter().count()).isEqualTo(1);
+    }
+}
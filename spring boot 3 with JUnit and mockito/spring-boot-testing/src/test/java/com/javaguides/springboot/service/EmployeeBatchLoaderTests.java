@@ -0,0 +1,92 @@
+package com.javaguides.springboot.service;
+
+import com.javaguides.springboot.model.Employee;
+import com.javaguides.springboot.repository.EmployeeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.AdditionalAnswers;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeBatchLoaderTests {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    private static Employee employee(long id) {
+        return Employee.builder().id(id).firstName("First" + id).lastName("Last" + id).email(id + "@gmail.com").build();
+    }
+
+    private static List<Employee> employeesWithIds(Collection<Long> ids) {
+        // id 0 doesn't exist
+        return ids.stream().filter(id -> id > 0).map(EmployeeBatchLoaderTests::employee).toList();
+    }
+
+    // JUnit test for coalescing concurrent lookups
+    @DisplayName("JUnit test for coalescing concurrent lookups")
+    @Test
+    public void givenConcurrentLookups_whenLoad_thenRunOneInQuery() throws Exception {
+        // given ->  precondition or setup
+        // a long window so that all callers join the first batch
+        EmployeeBatchLoader loader = new EmployeeBatchLoader(employeeRepository, new SimpleMeterRegistry(), true, 500_000, 100);
+        BDDMockito.given(employeeRepository.findAllById(ArgumentMatchers.anyIterable()))
+                .willAnswer(AdditionalAnswers.answer(EmployeeBatchLoaderTests::employeesWithIds));
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+
+        // when -> action or the behavior that we are testing
+        List<Future<Optional<Employee>>> results = new ArrayList<>();
+        for (long id = 0; id < 8; id++) {
+            long employeeId = id;
+            results.add(callers.submit(() -> loader.load(employeeId)));
+        }
+
+        // then -> verify the output
+        Assertions.assertThat(results.get(0).get()).isEmpty();
+        for (int id = 1; id < 8; id++) {
+            Assertions.assertThat(results.get(id).get()).hasValueSatisfying(e -> Assertions.assertThat(e.getId()).isPositive());
+        }
+        Mockito.verify(employeeRepository, Mockito.times(1)).findAllById(ArgumentMatchers.anyIterable());
+        callers.shutdown();
+    }
+
+    // JUnit test for dispatching a full batch without waiting for the window
+    @DisplayName("JUnit test for dispatching a full batch without waiting for the window")
+    @Test
+    public void givenMaxBatchSizeOne_whenLoad_thenQueryImmediately() {
+        // given ->  precondition or setup
+        // a minute long window, waiting for it would blow the one second timeout below
+        EmployeeBatchLoader loader = new EmployeeBatchLoader(employeeRepository, new SimpleMeterRegistry(), true, 60_000_000, 1);
+        BDDMockito.given(employeeRepository.findAllById(ArgumentMatchers.anyIterable()))
+                .willAnswer(AdditionalAnswers.answer(EmployeeBatchLoaderTests::employeesWithIds));
+
+        // when -> action or the behavior that we are testing
+        List<Optional<Employee>> employees = org.junit.jupiter.api.Assertions.assertTimeoutPreemptively(
+                Duration.ofSeconds(1), () -> List.of(loader.load(3L), loader.load(4L)));
+
+        // then -> verify the output
+        Assertions.assertThat(employees).extracting(employee -> employee.orElseThrow().getId()).containsExactly(3L, 4L);
+        // every lookup is its own single-id query, run by the caller right away
+        InOrder inOrder = Mockito.inOrder(employeeRepository);
+        inOrder.verify(employeeRepository).findAllById(Set.of(3L));
+        inOrder.verify(employeeRepository).findAllById(Set.of(4L));
+        inOrder.verifyNoMoreInteractions();
+    }
+}
@@ -1,21 +1,38 @@
 package com.javaguides.springboot.service;
 
+import com.javaguides.springboot.cache.EmployeeCache;
+import com.javaguides.springboot.dto.BatchItemResult;
+import com.javaguides.springboot.dto.EmployeePage;
+import com.javaguides.springboot.dto.EmployeeSummary;
+import com.javaguides.springboot.dto.EmployeeView;
 import com.javaguides.springboot.exception.ResourceNotFundException;
 import com.javaguides.springboot.model.Employee;
+import com.javaguides.springboot.model.EmployeeChange;
+import com.javaguides.springboot.outbox.EmployeeOutbox;
+import com.javaguides.springboot.repository.EmployeeJdbcRepository;
 import com.javaguides.springboot.repository.EmployeeRepository;
+import com.javaguides.springboot.search.EmployeeSearchIndex;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.BDDMockito;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.hibernate.exception.ConstraintViolationException;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
+import java.sql.SQLException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +54,21 @@ public class EmployeeServiceTests {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private EmployeeJdbcRepository employeeJdbcRepository;
+
+    @Mock
+    private EmployeeCache employeeCache;
+
+    @Mock
+    private EmployeeBatchLoader employeeBatchLoader;
+
+    @Mock
+    private EmployeeOutbox employeeOutbox;
+
+    @Mock
+    private EmployeeSearchIndex employeeSearchIndex;
+
     @InjectMocks
     private EmployeeServiceImpl employeeService;
     private Employee employee;
@@ -57,16 +89,15 @@ public class EmployeeServiceTests {
     @Test
     public void givenEmployeeObject_whenSaveEmployee_thenReturnEmployeeObject() {
         // given ->  precondition or setup
-        // what saveEmployee() method internally return ---> employeeRepository.findByEmail() & employeeRepository.save()
-        BDDMockito.given(employeeRepository.findByEmail(employee.getEmail()))
-                .willReturn(Optional.empty());
-        BDDMockito.given(employeeRepository.save(employee)).willReturn(employee);
+        // saveEmployee() is a single employeeRepository.saveAndFlush(), the unique index on email catches duplicates
+        BDDMockito.given(employeeRepository.saveAndFlush(employee)).willReturn(employee);
 
         // when -> action or the behavior that we are testing
         Employee savedEmployee = employeeService.saveEmployee(employee);
 
         // then -> verify the output
         Assertions.assertThat(savedEmployee).isNotNull();
+        Mockito.verify(employeeRepository, Mockito.never()).findByEmail(ArgumentMatchers.anyString());
     }
 
     // JUnit test for saveEmployee method
@@ -74,10 +105,9 @@ public class EmployeeServiceTests {
     @Test
     public void givenExistingEmail_whenSaveEmployee_thenThrowsException() {
         // given ->  precondition or setup
-        // what saveEmployee() method internally return ---> employeeRepository.findByEmail() & employeeRepository.save()
-        BDDMockito.given(employeeRepository.findByEmail(employee.getEmail()))
-                .willReturn(Optional.of(employee));
-        //   BDDMockito.given(employeeRepository.save(employee)).willReturn(employee);
+        // the insert violates the unique email index
+        BDDMockito.given(employeeRepository.saveAndFlush(employee)).willThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", new SQLException(), "PUBLIC.UK_EMPLOYEES_EMAIL_INDEX_1")));
 
         // when -> action or the behavior that we are testing
         org.junit.jupiter.api.Assertions.assertThrows(ResourceNotFundException.class, () -> {
@@ -85,7 +115,28 @@ public class EmployeeServiceTests {
         });
 
         // then --> verify the output
-        Mockito.verify(employeeRepository, Mockito.never()).save(Mockito.any(Employee.class));
+        Mockito.verify(employeeCache, Mockito.never()).putAfterCommit(ArgumentMatchers.any(Employee.class));
+    }
+
+    // JUnit test for saveEmployees batch method
+    @DisplayName("JUnit test for saveEmployees batch method")
+    @Test
+    public void givenEmployeesWithDuplicates_whenSaveEmployees_thenInsertOnlyNewEmails() {
+        // given ->  precondition or setup
+        Employee existing = Employee.builder().firstName("Tony").lastName("Stark").email("tony@gmail.com").build();
+        Employee fresh = Employee.builder().firstName("Sultan").lastName("Mahmud").email("sultan@gmail.com").build();
+        Employee repeated = Employee.builder().firstName("Sultan").lastName("Mahmud").email("sultan@gmail.com").build();
+        BDDMockito.given(employeeJdbcRepository.findIdsByEmail(ArgumentMatchers.anyCollection()))
+                .willReturn(Map.of("tony@gmail.com", 7L));
+
+        // when -> action or the behavior that we are testing
+        List<BatchItemResult> results = employeeService.saveEmployees(List.of(existing, fresh, repeated));
+
+        // then -> verify the output
+        Assertions.assertThat(results).extracting(BatchItemResult::getStatus).containsExactly(
+                BatchItemResult.Status.DUPLICATE_EMAIL, BatchItemResult.Status.CREATED, BatchItemResult.Status.DUPLICATE_EMAIL);
+        Mockito.verify(employeeJdbcRepository).insertAll(List.of(fresh));
+        Mockito.verify(employeeRepository, Mockito.never()).findByEmail(ArgumentMatchers.anyString());
     }
 
     // JUnit test for getAllEmployees method
@@ -129,6 +180,43 @@ public class EmployeeServiceTests {
         Assertions.assertThat(employeeList.size()).isEqualTo(0);
     }
 
+    // JUnit test for getEmployeesPage method
+    @DisplayName("JUnit test for getEmployeesPage method")
+    @Test
+    public void givenFullPage_whenGetEmployeesPage_thenReturnNextCursor() {
+        // given ->  precondition or setup
+        Employee employee1 = Employee.builder()
+                .id(2L)
+                .firstName("Tony")
+                .lastName("Stark")
+                .email("tony@gmail.com")
+                .build();
+        BDDMockito.given(employeeRepository.findViewsByIdGreaterThan(ArgumentMatchers.eq(0L), ArgumentMatchers.any(Pageable.class)))
+                .willReturn(List.of(EmployeeView.of(employee), EmployeeView.of(employee1)));
+
+        // when -> action or the behavior that we are testing
+        EmployeePage page = employeeService.getEmployeesPage(0L, 2);
+
+        // then -> verify the output
+        Assertions.assertThat(page.getContent()).hasSize(2);
+        Assertions.assertThat(page.getNextCursor()).isEqualTo(2L);
+    }
+
+    @DisplayName("JUnit test for getEmployeesPage method on the last page")
+    @Test
+    public void givenShortPage_whenGetEmployeesPage_thenReturnNoCursor() {
+        // given ->  precondition or setup
+        BDDMockito.given(employeeRepository.findViewsByIdGreaterThan(ArgumentMatchers.eq(0L), ArgumentMatchers.any(Pageable.class)))
+                .willReturn(List.of(EmployeeView.of(employee)));
+
+        // when -> action or the behavior that we are testing
+        EmployeePage page = employeeService.getEmployeesPage(0L, 10);
+
+        // then -> verify the output
+        Assertions.assertThat(page.getContent()).hasSize(1);
+        Assertions.assertThat(page.getNextCursor()).isNull();
+    }
+
     // JUnit test for getEmployeeId method
     @DisplayName("JUnit test for getEmployeeId method")
     @Test
@@ -144,12 +232,80 @@ public class EmployeeServiceTests {
         Assertions.assertThat(savedEmployee).isNotNull();
     }
 
+    // JUnit test for getEmployeeId method served from the cache
+    @DisplayName("JUnit test for getEmployeeId method with a cache hit")
+    @Test
+    public void givenCachedEmployee_whenGetEmployeeId_thenSkipRepository() {
+
+        // given ->  precondition or setup
+        BDDMockito.given(employeeCache.getById(employee.getId())).willReturn(Optional.of(employee));
+
+        // when -> action or the behavior that we are testing
+        Employee savedEmployee = employeeService.getEmployeeById(employee.getId()).get();
+
+        // then -> verify the output
+        Assertions.assertThat(savedEmployee).isSameAs(employee);
+        Mockito.verify(employeeRepository, Mockito.never()).findById(ArgumentMatchers.anyLong());
+    }
+
+    // JUnit test for getEmployeeVersion method served from the cache
+    @DisplayName("JUnit test for getEmployeeVersion method with a cache hit")
+    @Test
+    public void givenCachedEmployee_whenGetEmployeeVersion_thenSkipRepository() {
+
+        // given ->  precondition or setup
+        employee.setVersion(4);
+        BDDMockito.given(employeeCache.getById(employee.getId())).willReturn(Optional.of(employee));
+
+        // when -> action or the behavior that we are testing
+        Optional<Long> version = employeeService.getEmployeeVersion(employee.getId());
+
+        // then -> verify the output
+        Assertions.assertThat(version).contains(4L);
+        Mockito.verify(employeeRepository, Mockito.never()).findVersionById(ArgumentMatchers.anyLong());
+    }
+
+    // JUnit test for getEmployeeByEmail method on a cache miss
+    @DisplayName("JUnit test for getEmployeeByEmail method with a cache miss")
+    @Test
+    public void givenEmail_whenGetEmployeeByEmail_thenLoadAndCache() {
+
+        // given ->  precondition or setup
+        BDDMockito.given(employeeRepository.findByEmail(employee.getEmail())).willReturn(Optional.of(employee));
+
+        // when -> action or the behavior that we are testing
+        Optional<Employee> savedEmployee = employeeService.getEmployeeByEmail(employee.getEmail());
+
+        // then -> verify the output
+        Assertions.assertThat(savedEmployee).contains(employee);
+        Mockito.verify(employeeCache).putLoaded(ArgumentMatchers.eq(employee), ArgumentMatchers.anyLong());
+    }
+
+    // JUnit test for searchByName method
+    @DisplayName("JUnit test for searchByName method")
+    @Test
+    public void givenNamePrefix_whenSearchByName_thenQueryOnceAndCache() {
+
+        // given ->  precondition or setup
+        List<EmployeeSummary> summaries = List.of(new EmployeeSummary(1L, "GOlam Rabbani", "Rishad", "gr.rishad@gmail.com"));
+        BDDMockito.given(employeeRepository.findByLastNameStartingWithAndFirstNameStartingWith(
+                        ArgumentMatchers.eq("Ris"), ArgumentMatchers.eq(""), ArgumentMatchers.any(Pageable.class)))
+                .willReturn(new SliceImpl<>(summaries));
+
+        // when -> action or the behavior that we are testing
+        List<EmployeeSummary> result = employeeService.searchByName("Ris", null, 20);
+
+        // then -> verify the output
+        Assertions.assertThat(result).isEqualTo(summaries);
+        Mockito.verify(employeeCache).putNameSearch("Ris||20", summaries);
+    }
+
     // JUnit test for update Employee method
     @DisplayName("JUnit test for update Employee method")
     @Test
     public void givenEmployeeObject_whenUpdateEmployee_thenReturnUpdatedEmployee() {
         // given ->  precondition or setup
-        BDDMockito.given(employeeRepository.save(employee)).willReturn(employee);
+        BDDMockito.given(employeeRepository.saveAndFlush(employee)).willReturn(employee);
         employee.setEmail("rabbani@gmail.com");
         employee.setFirstName("Shakib");
 
@@ -159,6 +315,24 @@ public class EmployeeServiceTests {
         // then -> verify the output
         Assertions.assertThat(updatedEmployee.getEmail()).isEqualTo("rabbani@gmail.com");
         Assertions.assertThat(updatedEmployee.getFirstName()).isEqualTo("Shakib");
+        Mockito.verify(employeeCache).evictOnCompletion(List.of(employee.getId()));
+        Mockito.verify(employeeCache).putAfterCommit(employee);
+    }
+
+    // JUnit test for update Employee method with a stale version
+    @DisplayName("JUnit test for update Employee method with a stale version")
+    @Test
+    public void givenStaleVersion_whenUpdateEmployee_thenThrowsOptimisticLockingFailure() {
+        // given ->  precondition or setup
+        employee.setVersion(4L);
+        BDDMockito.given(employeeRepository.findById(employee.getId())).willReturn(Optional.of(employee));
+
+        // when -> action or the behavior that we are testing
+        org.junit.jupiter.api.Assertions.assertThrows(OptimisticLockingFailureException.class,
+                () -> employeeService.updateEmployee(employee.getId(), Employee.builder().firstName("Shakib").build(), 3L));
+
+        // then -> verify the output
+        Mockito.verify(employeeRepository, Mockito.never()).saveAndFlush(ArgumentMatchers.any(Employee.class));
     }
 
     // JUnit test for delete employee method
@@ -168,13 +342,135 @@ public class EmployeeServiceTests {
 
         // given ->  precondition or setup
         long employeeId = 1L;
-        BDDMockito.willDoNothing().given(employeeRepository).deleteById(employeeId);
+        BDDMockito.given(employeeJdbcRepository.deleteById(employeeId)).willReturn(1);
+
+        // when -> action or the behavior that we are testing
+        boolean deleted = employeeService.deleteEmployee(employeeId);
+
+        // then -> verify the output
+        Assertions.assertThat(deleted).isTrue();
+        BDDMockito.verify(employeeJdbcRepository, Mockito.times(1)).deleteById(employeeId);
+        BDDMockito.verify(employeeRepository, Mockito.never()).deleteById(employeeId);
+        BDDMockito.verify(employeeOutbox).record(EmployeeChange.Type.DELETED, employeeId);
+        BDDMockito.verify(employeeSearchIndex).removeAfterCommit(List.of(employeeId));
+
+    }
+
+    // JUnit test for delete employee method with an unknown id
+    @DisplayName("JUnit test for delete employee method with an unknown id")
+    @Test
+    public void givenUnknownId_whenDeleteEmployee_thenFalseAndNoChangeRecorded() {
+        // given ->  precondition or setup
+        long employeeId = 1L;
+        BDDMockito.given(employeeJdbcRepository.deleteById(employeeId)).willReturn(0);
+
+        // when -> action or the behavior that we are testing
+        boolean deleted = employeeService.deleteEmployee(employeeId);
+
+        // then -> verify the output
+        Assertions.assertThat(deleted).isFalse();
+        Mockito.verifyNoInteractions(employeeOutbox, employeeSearchIndex);
+    }
+
+    // JUnit test for patch employee method with a stale version
+    @DisplayName("JUnit test for patch employee method with a stale version")
+    @Test
+    public void givenStaleVersion_whenPatchEmployee_thenThrowsOptimisticLockingFailure() {
+        // given ->  precondition or setup
+        Employee changes = Employee.builder().firstName("Shakib").build();
+        BDDMockito.given(employeeJdbcRepository.patch(1L, changes, 3L)).willReturn(0);
+        BDDMockito.given(employeeRepository.existsById(1L)).willReturn(true);
+
+        // when -> action or the behavior that we are testing
+        org.junit.jupiter.api.Assertions.assertThrows(OptimisticLockingFailureException.class,
+                () -> employeeService.patchEmployee(1L, changes, 3L));
+
+        // then -> verify the output
+        Mockito.verify(employeeCache).evictOnCompletion(List.of(1L));
+    }
+
+    // JUnit test for patch employee method with an unknown id
+    @DisplayName("JUnit test for patch employee method with an unknown id")
+    @Test
+    public void givenUnknownId_whenPatchEmployee_thenReturnFalse() {
+        // given ->  precondition or setup
+        Employee changes = Employee.builder().firstName("Shakib").build();
+        BDDMockito.given(employeeJdbcRepository.patch(1L, changes, null)).willReturn(0);
+
+        // when -> action or the behavior that we are testing
+        boolean patched = employeeService.patchEmployee(1L, changes, null);
+
+        // then -> verify the output
+        Assertions.assertThat(patched).isFalse();
+        Mockito.verify(employeeRepository, Mockito.never()).existsById(ArgumentMatchers.anyLong());
+    }
+
+    // JUnit test for getEmployeeViewById method
+    @DisplayName("JUnit test for getEmployeeViewById method")
+    @Test
+    public void givenUncachedEmployee_whenGetEmployeeViewById_thenFindByIdAndCacheView() {
+        // given ->  precondition or setup
+        EmployeeView view = EmployeeView.of(employee);
+        BDDMockito.given(employeeCache.getViewById(employee.getId())).willReturn(Optional.empty());
+        BDDMockito.given(employeeRepository.findById(employee.getId())).willReturn(Optional.of(employee));
+
+        // when -> action or the behavior that we are testing
+        Optional<EmployeeView> loadedEmployee = employeeService.getEmployeeViewById(employee.getId());
+
+        // then -> verify the output
+        Assertions.assertThat(loadedEmployee).contains(view);
+        Mockito.verify(employeeCache).putLoaded(ArgumentMatchers.eq(view), ArgumentMatchers.anyLong());
+    }
+
+    // JUnit test for getEmployeesByIds method
+    @DisplayName("JUnit test for getEmployeesByIds method")
+    @Test
+    public void givenCachedAndUncachedIds_whenGetEmployeesByIds_thenLoadOnlyMissesInRequestOrder() {
+        // given ->  precondition or setup
+        EmployeeView employee1 = EmployeeView.of(employee);
+        EmployeeView employee2 = new EmployeeView(2L, "Tamim", "Iqbal", "t@gmail.com", 0L);
+        BDDMockito.given(employeeCache.getViewById(1L)).willReturn(Optional.of(employee1));
+        BDDMockito.given(employeeCache.getViewById(2L)).willReturn(Optional.empty());
+        BDDMockito.given(employeeCache.getViewById(3L)).willReturn(Optional.empty());
+        BDDMockito.given(employeeRepository.findViewsByIdIn(List.of(2L, 3L))).willReturn(List.of(employee2));
+
+        // when -> action or the behavior that we are testing
+        List<EmployeeView> employees = employeeService.getEmployeesByIds(List.of(2L, 1L, 3L, 2L));
+
+        // then -> verify the output
+        Assertions.assertThat(employees).containsExactly(employee2, employee1);
+        Mockito.verify(employeeCache).putLoaded(ArgumentMatchers.eq(employee2), ArgumentMatchers.anyLong());
+    }
+
+    // JUnit test for getEmployeeById method with the batch loader enabled
+    @DisplayName("JUnit test for getEmployeeById method with the batch loader enabled")
+    @Test
+    public void givenBatchLoaderEnabled_whenGetEmployeeById_thenLoadThroughBatchLoader() {
+        // given ->  precondition or setup
+        BDDMockito.given(employeeCache.getById(1L)).willReturn(Optional.empty());
+        BDDMockito.given(employeeBatchLoader.isEnabled()).willReturn(true);
+        BDDMockito.given(employeeBatchLoader.load(1L)).willReturn(Optional.of(employee));
 
         // when -> action or the behavior that we are testing
-        employeeService.deleteEmployee(employeeId);
+        Optional<Employee> loadedEmployee = employeeService.getEmployeeById(1L);
 
         // then -> verify the output
-        BDDMockito.verify(employeeRepository, Mockito.times(1)).deleteById(employeeId);
+        Assertions.assertThat(loadedEmployee).contains(employee);
+        Mockito.verify(employeeRepository, Mockito.never()).findById(ArgumentMatchers.anyLong());
+        Mockito.verify(employeeCache).putLoaded(ArgumentMatchers.eq(employee), ArgumentMatchers.anyLong());
+    }
 
+    // JUnit test for the outbox event written by saveEmployee
+    @DisplayName("JUnit test for the outbox event written by saveEmployee")
+    @Test
+    public void givenEmployeeObject_whenSaveEmployee_thenRecordCreatedChange() {
+        // given ->  precondition or setup
+        BDDMockito.given(employeeRepository.saveAndFlush(employee)).willReturn(employee);
+
+        // when -> action or the behavior that we are testing
+        employeeService.saveEmployee(employee);
+
+        // then -> verify the output
+        Mockito.verify(employeeOutbox).record(EmployeeChange.Type.CREATED, employee.getId());
     }
 }